@@ -0,0 +1,55 @@
+package com.taleforge.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.taleforge.domain.Comment;
+import com.taleforge.domain.Story;
+import com.taleforge.domain.User;
+import com.taleforge.dto.CommentDTO;
+import com.taleforge.dto.StoryDTO;
+import com.taleforge.service.StoryService;
+
+/**
+ * Entity to DTO mapping done for every story and comment a read returns.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConverterBenchmark {
+    private StoryService storyService;
+    private Story story;
+    private Comment comment;
+
+    @Setup
+    public void setUp() {
+        // convertToDTO touches none of the collaborators
+        storyService = new StoryService(null, null, null, null, null, null, null);
+        User author = Fixtures.user(1);
+        story = Fixtures.story(1, author);
+        comment = Fixtures.comment(1, story, Fixtures.user(2));
+    }
+
+    @Benchmark
+    public StoryDTO storyToDto() {
+        return storyService.convertToDTO(story);
+    }
+
+    @Benchmark
+    public CommentDTO commentToDto() {
+        return CommentDTO.fromEntity(comment);
+    }
+}
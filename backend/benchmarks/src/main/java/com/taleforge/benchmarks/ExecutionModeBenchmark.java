@@ -0,0 +1,166 @@
+package com.taleforge.benchmarks;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.taleforge.web.AdmissionFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+
+/**
+ * Request execution against a small connection pool, in the two server modes:
+ * {@code platform} uses Tomcat's default 200 worker threads, and
+ * {@code virtual} starts a virtual thread per request behind
+ * {@link AdmissionFilter}. Each JMH thread is a client that sends one request
+ * and waits for its response. A cache miss holds one of {@code poolSize}
+ * connections for {@code queryMillis}. A cache hit only costs a little CPU.
+ * <p>
+ * {@link #throughput} sends single attempts and reports the served ones as
+ * {@code ok} and the 503s the admission filter sheds as {@code rejected}, both
+ * per millisecond; its primary score counts both. {@link #latency} retries a
+ * rejected request until it is served, so its percentiles are the time a
+ * client waits for a response, including queueing and retries. Virtual
+ * threads need Java 21, so the virtual mode fails at setup on older runtimes.
+ */
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(400)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+public class ExecutionModeBenchmark {
+    private static final int TOMCAT_MAX_THREADS = 200;
+    private static final int PERMITS_PER_CONNECTION = 2;
+    private static final long HIT_CPU_TOKENS = 2_000;
+
+    @Param({ "platform", "virtual" })
+    public String mode;
+
+    @Param({ "3" })
+    public int poolSize;
+
+    @Param({ "2" })
+    public int queryMillis;
+
+    @Param({ "0.0", "0.8" })
+    public double cacheHitRatio;
+
+    private ExecutorService executor;
+    private Semaphore connections;
+    private AdmissionFilter admission;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Outcomes {
+        public long ok;
+        public long rejected;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            ok = 0;
+            rejected = 0;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        connections = new Semaphore(poolSize, true);
+        if (mode.equals("virtual")) {
+            executor = newVirtualThreadPerTaskExecutor();
+            admission = new AdmissionFilter(poolSize, PERMITS_PER_CONNECTION, Duration.ofSeconds(2));
+        } else {
+            executor = Executors.newFixedThreadPool(TOMCAT_MAX_THREADS);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    public void throughput(Outcomes outcomes) throws InterruptedException, ExecutionException {
+        if (request() == 503) {
+            outcomes.rejected++;
+        } else {
+            outcomes.ok++;
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    public int latency() throws InterruptedException, ExecutionException {
+        int status;
+        do {
+            status = request();
+        } while (status == 503);
+        return status;
+    }
+
+    private int request() throws InterruptedException, ExecutionException {
+        return executor.submit(this::handle).get();
+    }
+
+    private int handle() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/stories");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = (req, res) -> serve();
+        if (admission != null) {
+            admission.doFilter(request, response, chain);
+        } else {
+            chain.doFilter(request, response);
+        }
+        return response.getStatus();
+    }
+
+    private void serve() {
+        if (ThreadLocalRandom.current().nextDouble() < cacheHitRatio) {
+            Blackhole.consumeCPU(HIT_CPU_TOKENS);
+            return;
+        }
+        connections.acquireUninterruptibly();
+        try {
+            Thread.sleep(queryMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            connections.release();
+        }
+    }
+
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        // Looked up reflectively so the module still compiles for Java 17
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Virtual threads need Java 21 or later", e);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.taleforge.benchmarks;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.taleforge.domain.Comment;
+import com.taleforge.domain.Story;
+import com.taleforge.domain.User;
+import com.taleforge.security.AuthenticatedUser;
+import com.taleforge.security.JwtService;
+
+/**
+ * Representative entities and services wired by hand, without a Spring context.
+ */
+final class Fixtures {
+    static final String JWT_SECRET = "benchmark-secret-benchmark-secret-benchmark-secret";
+    static final long JWT_EXPIRATION_MS = 86_400_000L;
+
+    private Fixtures() {
+    }
+
+    static User user(long id) {
+        return User.builder()
+                .id(id)
+                .username("reader" + id)
+                .email("reader" + id + "@example.com")
+                .password("{bcrypt}unused")
+                .displayName("Reader " + id)
+                .build();
+    }
+
+    static Story story(long id, User author) {
+        return Story.builder()
+                .id(id)
+                .title("The Lighthouse Keeper, part " + id)
+                .description("A keeper on a remote island finds letters that were never sent.")
+                .content("The storm came in from the west. ".repeat(120))
+                .author(author)
+                .published(true)
+                .views(1_000 + (int) id)
+                .likes(50 + (int) (id % 17))
+                .tags(Set.of("mystery", "drama", "sea"))
+                .createdAt(LocalDateTime.of(2024, 3, 1, 12, 0).plusHours(id))
+                .updatedAt(LocalDateTime.of(2024, 3, 2, 12, 0).plusHours(id))
+                .build();
+    }
+
+    static Comment comment(long id, Story story, User author) {
+        Comment comment = new Comment();
+        comment.setId(id);
+        comment.setContent("Loved the ending, the letters twist was great.");
+        comment.setStory(story);
+        comment.setAuthor(author);
+        comment.setLikesCount(3);
+        comment.setLiked(id % 2 == 0);
+        comment.setCreatedAt(LocalDateTime.of(2024, 3, 3, 8, 30));
+        comment.setUpdatedAt(LocalDateTime.of(2024, 3, 3, 8, 30));
+        return comment;
+    }
+
+    static AuthenticatedUser principal(long id) {
+        return AuthenticatedUser.fromClaims(id, "reader" + id, List.of("ROLE_USER"));
+    }
+
+    /**
+     * A {@link JwtService} configured the way the application configures it;
+     * a zero cache size makes every validation verify the signature.
+     */
+    static JwtService jwtService(long cacheMaxSize) {
+        JwtService jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "secretKey", JWT_SECRET);
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", JWT_EXPIRATION_MS);
+        ReflectionTestUtils.setField(jwtService, "cacheMaxSize", cacheMaxSize);
+        ReflectionTestUtils.invokeMethod(jwtService, "init");
+        return jwtService;
+    }
+}
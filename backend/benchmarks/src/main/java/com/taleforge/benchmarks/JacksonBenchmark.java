@@ -0,0 +1,74 @@
+package com.taleforge.benchmarks;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import com.taleforge.config.WebConfig;
+import com.taleforge.domain.User;
+import com.taleforge.dto.StoryDTO;
+import com.taleforge.service.StoryService;
+
+/**
+ * Writing a page of stories to the response body with the JSON converter that
+ * {@link WebConfig} registers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JacksonBenchmark {
+    @Param({ "10", "50" })
+    private int pageSize;
+
+    private MappingJackson2HttpMessageConverter converter;
+    private Page<StoryDTO> page;
+
+    @Setup
+    public void setUp() {
+        List<HttpMessageConverter<?>> converters = new ArrayList<>();
+        new WebConfig().configureMessageConverters(converters);
+        converter = converters.stream()
+                .filter(MappingJackson2HttpMessageConverter.class::isInstance)
+                .map(MappingJackson2HttpMessageConverter.class::cast)
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("WebConfig registers no JSON converter"));
+
+        StoryService storyService = new StoryService(null, null, null, null, null, null, null);
+        User author = Fixtures.user(1);
+        List<StoryDTO> stories = new ArrayList<>(pageSize);
+        for (long id = 1; id <= pageSize; id++) {
+            stories.add(storyService.convertToDTO(Fixtures.story(id, author)));
+        }
+        page = new PageImpl<>(stories, PageRequest.of(0, pageSize), 10_000);
+    }
+
+    @Benchmark
+    public byte[] writeStoryPage() throws IOException {
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+        converter.write(page, MediaType.APPLICATION_JSON, output);
+        return output.getBodyAsBytes();
+    }
+}
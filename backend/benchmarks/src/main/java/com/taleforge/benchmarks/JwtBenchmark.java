@@ -0,0 +1,61 @@
+package com.taleforge.benchmarks;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.taleforge.security.AuthenticatedUser;
+import com.taleforge.security.JwtService;
+
+import io.jsonwebtoken.Claims;
+
+/**
+ * Token issuing on login and validation on every authenticated request, both
+ * with the verified-token cache (the steady state) and without it (the first
+ * request a token makes).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtBenchmark {
+    private JwtService cachingService;
+    private JwtService verifyingService;
+    private AuthenticatedUser principal;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        cachingService = Fixtures.jwtService(10_000);
+        verifyingService = Fixtures.jwtService(0);
+        principal = Fixtures.principal(42);
+        token = cachingService.generateToken(principal);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return cachingService.generateToken(principal);
+    }
+
+    @Benchmark
+    public Optional<Claims> validateCached() {
+        return cachingService.validateToken(token);
+    }
+
+    @Benchmark
+    public Optional<Claims> validateUncached() {
+        return verifyingService.validateToken(token);
+    }
+}
@@ -0,0 +1,82 @@
+package com.taleforge.benchmarks;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.taleforge.security.CustomUserDetailsService;
+import com.taleforge.security.JwtAuthenticationFilter;
+import com.taleforge.security.JwtService;
+
+import jakarta.servlet.ServletException;
+
+/**
+ * The authentication filter as every request runs it: a public read without a
+ * token, and an authenticated read whose token is already in the verified
+ * cache. Tokens carry the user id and roles, so no user lookup happens.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtFilterBenchmark {
+    private JwtAuthenticationFilter filter;
+    private String authorization;
+
+    @Setup
+    public void setUp() {
+        JwtService jwtService = Fixtures.jwtService(10_000);
+        // Never consulted for tokens that embed the principal
+        CustomUserDetailsService userDetailsService = new CustomUserDetailsService(null, 1, Duration.ofMinutes(5));
+        filter = new JwtAuthenticationFilter(jwtService, userDetailsService);
+        authorization = "Bearer " + jwtService.generateToken(Fixtures.principal(42));
+    }
+
+    @TearDown
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public MockHttpServletRequest anonymousRequest() throws ServletException, IOException {
+        return filter(request());
+    }
+
+    @Benchmark
+    public MockHttpServletRequest authenticatedRequest() throws ServletException, IOException {
+        MockHttpServletRequest request = request();
+        request.addHeader("Authorization", authorization);
+        return filter(request);
+    }
+
+    private MockHttpServletRequest filter(MockHttpServletRequest request) throws ServletException, IOException {
+        try {
+            filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+            return request;
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    private static MockHttpServletRequest request() {
+        return new MockHttpServletRequest("GET", "/stories/7");
+    }
+}
@@ -5,16 +5,20 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EntityScan("com.taleforge.domain")
 @EnableJpaAuditing
+@EnableScheduling
 @ComponentScan(basePackages = {
         "com.taleforge.repository",
         "com.taleforge.service",
         "com.taleforge.security",
         "com.taleforge.controller",
-        "com.taleforge.config"
+        "com.taleforge.config",
+        "com.taleforge.timing",
+        "com.taleforge.web"
 })
 public class TaleForgeApplication {
 
@@ -0,0 +1,25 @@
+package com.taleforge.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.taleforge.timing.TimedDataSource;
+
+@Configuration
+public class DataSourceConfig {
+
+    @Bean
+    public static BeanPostProcessor timedDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof DataSource dataSource && !(bean instanceof TimedDataSource)
+                        ? new TimedDataSource(dataSource)
+                        : bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,40 @@
+package com.taleforge.config;
+
+import java.net.URI;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+
+/**
+ * In-heap JCache manager behind Hibernate's second-level cache. Hibernate
+ * would resolve a configured URI to a URL, which Caffeine cannot read from
+ * inside the packaged jar, so the manager is built here from a
+ * {@code classpath:} URI and handed to Hibernate ready to use.
+ * <p>
+ * Hibernate cannot tell which tables a native update writes, so it evicts
+ * every region after one. Native modifying queries therefore name their
+ * tables through {@code HibernateHints.HINT_NATIVE_SPACES}.
+ */
+@Configuration
+public class HibernateCacheConfig {
+    private static final URI REGIONS = URI.create("classpath:hibernate-jcache.conf");
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager() {
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        return provider.getCacheManager(REGIONS, getClass().getClassLoader());
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheManagerCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+}
@@ -0,0 +1,89 @@
+package com.taleforge.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.taleforge.datasource.ReadWriteRoutingDataSource;
+import com.taleforge.datasource.ReplicaMonitor;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Replaces Boot's single pool with a primary and a replica pool when
+ * {@code datasource.replica.enabled} is set. The primary takes the usual
+ * {@code spring.datasource} settings and the replica takes
+ * {@code datasource.replica}. Both pools stay private to this class, so the
+ * timing and counting wrappers apply once, around the routing data source.
+ */
+@Configuration
+@ConditionalOnProperty(name = "datasource.replica.enabled", havingValue = "true")
+public class ReadWriteDataSourceConfig implements DisposableBean {
+    private final Environment environment;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final List<HikariDataSource> pools = new ArrayList<>();
+
+    public ReadWriteDataSourceConfig(Environment environment, ObjectProvider<MeterRegistry> meterRegistry) {
+        this.environment = environment;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Bean
+    public ReplicaMonitor replicaMonitor(
+            DataSourceProperties properties,
+            @Value("${datasource.replica.url}") String url,
+            @Value("${datasource.replica.username:${spring.datasource.username:}}") String username,
+            @Value("${datasource.replica.password:${spring.datasource.password:}}") String password,
+            @Value("${datasource.replica.lag-query:}") String lagQuery,
+            @Value("${datasource.replica.max-lag:PT5S}") Duration maxLag) {
+        HikariDataSource replica = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(properties.determineDriverClassName())
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        return new ReplicaMonitor(register(replica, "replica", "datasource.replica.hikari"),
+                lagQuery.isBlank() ? ReplicaMonitor.POSTGRES_LAG_QUERY : lagQuery, maxLag);
+    }
+
+    @Bean
+    public DataSource dataSource(DataSourceProperties properties, ReplicaMonitor replicaMonitor) {
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        register(primary, "primary", "spring.datasource.hikari");
+        return new LazyConnectionDataSourceProxy(
+                new ReadWriteRoutingDataSource(primary, replicaMonitor.getReplica(), replicaMonitor));
+    }
+
+    private HikariDataSource register(HikariDataSource pool, String name, String hikariPrefix) {
+        Binder.get(environment).bind(hikariPrefix, Bindable.ofInstance(pool));
+        pool.setPoolName(name);
+        // Boot only instruments pools it can unwrap from the DataSource bean, so these report themselves
+        meterRegistry.ifAvailable(registry -> pool.setMetricsTrackerFactory(
+                new MicrometerMetricsTrackerFactory(registry)));
+        pools.add(pool);
+        return pool;
+    }
+
+    @Override
+    public void destroy() {
+        pools.forEach(HikariDataSource::close);
+    }
+}
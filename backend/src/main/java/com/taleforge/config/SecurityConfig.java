@@ -3,9 +3,9 @@ package com.taleforge.config;
 import java.util.Arrays;
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.context.annotation.Lazy;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
@@ -25,7 +25,6 @@ import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 import com.taleforge.security.CustomUserDetailsService;
 import com.taleforge.security.JwtAuthenticationFilter;
 import com.taleforge.security.JwtService;
-import com.taleforge.service.UserService;
 
 @Configuration
 @EnableWebSecurity
@@ -38,11 +37,9 @@ public class SecurityConfig {
     private long jwtExpiration;
 
     private final CustomUserDetailsService userDetailsService;
-    private final UserService userService;
 
-    public SecurityConfig(CustomUserDetailsService userDetailsService, @Lazy UserService userService) {
+    public SecurityConfig(CustomUserDetailsService userDetailsService) {
         this.userDetailsService = userDetailsService;
-        this.userService = userService;
     }
 
     @Bean
@@ -52,7 +49,7 @@ public class SecurityConfig {
 
     @Bean
     public JwtAuthenticationFilter jwtAuthenticationFilter() {
-        return new JwtAuthenticationFilter(jwtService(), userDetailsService, userService);
+        return new JwtAuthenticationFilter(jwtService(), userDetailsService);
     }
 
     @Bean
@@ -98,10 +95,13 @@ public class SecurityConfig {
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/auth/**").permitAll()
                         .requestMatchers("/h2-console/**").permitAll()
+                        .requestMatchers(EndpointRequest.to("health", "prometheus")).permitAll()
                         .requestMatchers(HttpMethod.GET, "/stories/**").permitAll()
+                        .requestMatchers(HttpMethod.POST, "/stories/*/view").permitAll()
                         .requestMatchers(HttpMethod.GET, "/likes/**").permitAll()
                         .requestMatchers(HttpMethod.GET, "/comments/story/**").permitAll()
                         .requestMatchers("/comments/**").authenticated()
+                        .requestMatchers("/admin/**").hasRole("ADMIN")
                         .anyRequest().authenticated())
                 .sessionManagement(session -> session
                         .sessionCreationPolicy(SessionCreationPolicy.STATELESS))
@@ -0,0 +1,70 @@
+package com.taleforge.controller;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.taleforge.dto.ImportResultDTO;
+import com.taleforge.dto.StoryImportDTO;
+import com.taleforge.service.StoryExportService;
+import com.taleforge.service.StoryImportService;
+
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@RestController
+@RequestMapping("/admin")
+@RequiredArgsConstructor
+public class AdminController {
+    private static final String NDJSON = "application/x-ndjson";
+    private static final int GZIP_BUFFER = 8192;
+
+    private final StoryExportService storyExportService;
+    private final StoryImportService storyImportService;
+
+    /**
+     * Streams the story catalogue as NDJSON, gzipped when the client accepts
+     * it. After a dropped connection, pass the id of the last complete line as
+     * {@code after} to continue from there; {@code limit} caps the stories per
+     * response for callers that pull the catalogue in pieces.
+     */
+    @GetMapping("/export/stories")
+    public void exportStories(
+            @RequestParam(defaultValue = "0") long after,
+            @RequestParam(defaultValue = "" + Long.MAX_VALUE) long limit,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            HttpServletResponse response) throws IOException {
+        log.info("Exporting up to {} stories after id: {}", limit, after);
+        boolean gzip = acceptEncoding != null && acceptEncoding.contains("gzip");
+        response.setContentType(NDJSON);
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        // Sync flush makes every batch reach the client as it is written, so a resume loses nothing
+        try (OutputStream body = gzip
+                ? new GZIPOutputStream(response.getOutputStream(), GZIP_BUFFER, true)
+                : response.getOutputStream()) {
+            storyExportService.export(after, limit, body);
+        }
+    }
+
+    @PostMapping("/import/stories")
+    public ResponseEntity<ImportResultDTO> importStories(@RequestBody List<StoryImportDTO> stories) {
+        log.info("Importing {} stories", stories.size());
+        return ResponseEntity.ok(storyImportService.importStories(stories));
+    }
+}
@@ -0,0 +1,24 @@
+package com.taleforge.controller;
+
+import java.util.Map;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.taleforge.service.ResponseCache;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/admin/cache")
+@RequiredArgsConstructor
+public class CacheController {
+    private final ResponseCache responseCache;
+
+    @GetMapping("/stats")
+    public ResponseEntity<Map<String, Object>> getStats() {
+        return ResponseEntity.ok(responseCache.stats());
+    }
+}
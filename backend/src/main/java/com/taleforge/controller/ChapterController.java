@@ -0,0 +1,96 @@
+package com.taleforge.controller;
+
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import com.taleforge.dto.ChapterDTO;
+import com.taleforge.dto.ChapterSummaryDTO;
+import com.taleforge.service.ChapterService;
+import com.taleforge.service.ContentVersions;
+import com.taleforge.service.ResponseCache;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@RestController
+@RequestMapping("/stories/{storyId}/chapters")
+@RequiredArgsConstructor
+public class ChapterController {
+    private final ChapterService chapterService;
+    private final ContentVersions contentVersions;
+    private final ResponseCache responseCache;
+
+    @GetMapping
+    public ResponseEntity<List<ChapterSummaryDTO>> getChapters(@PathVariable Long storyId, WebRequest request) {
+        log.debug("Getting chapters of story with id: {}", storyId);
+        ContentVersions.Validator version = contentVersions.chapters(storyId);
+        return ConditionalResponses.ok(request, version, () -> responseCache.get(ResponseCache.Scope.CHAPTERS,
+                storyId, "index", version, () -> chapterService.getChapters(storyId)));
+    }
+
+    @GetMapping("/{number}")
+    public ResponseEntity<ChapterDTO> getChapter(
+            @PathVariable Long storyId,
+            @PathVariable int number,
+            WebRequest request) {
+        log.debug("Getting chapter {} of story with id: {}", number, storyId);
+        ContentVersions.Validator version = contentVersions.chapters(storyId);
+        return ConditionalResponses.ok(request, version, () -> {
+            ChapterDTO chapter = responseCache.get(ResponseCache.Scope.CHAPTERS, storyId, "chapter:" + number,
+                    version, () -> chapterService.getChapter(storyId, number));
+            if (chapter.getNext() != null) {
+                // Readers mostly go on to the next chapter, so have it in memory by then
+                int next = chapter.getNext().getNumber();
+                responseCache.prefetch(ResponseCache.Scope.CHAPTERS, storyId, "chapter:" + next, version,
+                        () -> chapterService.getChapter(storyId, next));
+            }
+            return chapter;
+        });
+    }
+
+    @PostMapping
+    public ResponseEntity<ChapterSummaryDTO> addChapter(
+            @PathVariable Long storyId,
+            @RequestBody ChapterRequest request,
+            Authentication authentication) {
+        log.info("Adding chapter to story with id: {}", storyId);
+        return ResponseEntity.ok(chapterService.addChapter(storyId, request.title(), request.content(),
+                authentication.getName()));
+    }
+
+    @PutMapping("/{number}")
+    public ResponseEntity<ChapterSummaryDTO> updateChapter(
+            @PathVariable Long storyId,
+            @PathVariable int number,
+            @RequestBody ChapterRequest request,
+            Authentication authentication) {
+        log.info("Updating chapter {} of story with id: {}", number, storyId);
+        return ResponseEntity.ok(chapterService.updateChapter(storyId, number, request.title(), request.content(),
+                authentication.getName()));
+    }
+
+    @DeleteMapping("/{number}")
+    public ResponseEntity<Void> deleteChapter(
+            @PathVariable Long storyId,
+            @PathVariable int number,
+            Authentication authentication) {
+        log.info("Deleting chapter {} of story with id: {}", number, storyId);
+        chapterService.deleteChapter(storyId, number, authentication.getName());
+        return ResponseEntity.ok().build();
+    }
+}
+
+record ChapterRequest(String title, String content) {
+}
@@ -1,13 +1,10 @@
 package com.taleforge.controller;
 
-import java.util.List;
-import java.util.stream.Collectors;
-
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -16,11 +13,17 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import com.taleforge.domain.Comment;
 import com.taleforge.dto.CommentDTO;
+import com.taleforge.dto.CommentPageDTO;
+import com.taleforge.security.AuthenticatedUser;
 import com.taleforge.service.CommentService;
+import com.taleforge.service.ContentVersions;
+import com.taleforge.service.ResponseCache;
 
 import lombok.RequiredArgsConstructor;
 
@@ -31,25 +34,33 @@ import lombok.RequiredArgsConstructor;
 public class CommentController {
     private static final Logger logger = LoggerFactory.getLogger(CommentController.class);
     private final CommentService commentService;
+    private final ContentVersions contentVersions;
+    private final ResponseCache responseCache;
 
     @GetMapping("/story/{storyId}")
-    @Transactional(readOnly = true)
-    public ResponseEntity<List<CommentDTO>> getCommentsByStoryId(
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public ResponseEntity<CommentPageDTO> getCommentsByStoryId(
             @PathVariable Long storyId,
-            @AuthenticationPrincipal UserDetails userDetails) {
-        logger.debug("Getting comments for story ID: {}", storyId);
-        List<Comment> comments = commentService.getCommentsByStoryId(storyId,
-                userDetails != null ? userDetails.getUsername() : null);
-        return ResponseEntity.ok(comments.stream().map(CommentDTO::fromEntity).collect(Collectors.toList()));
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String sort,
+            @AuthenticationPrincipal AuthenticatedUser user,
+            WebRequest request) {
+        logger.debug("Getting comments for story ID: {} after cursor: {}", storyId, cursor);
+        Long userId = user != null ? user.getId() : null;
+        ContentVersions.Validator version = contentVersions.comments(storyId, userId);
+        return ConditionalResponses.okPerUser(request, version, () -> responseCache.get(
+                ResponseCache.Scope.COMMENTS, storyId, userId + ":" + sort + ":" + size + ":" + cursor, version,
+                () -> commentService.getCommentThread(storyId, userId, sort, cursor, size)));
     }
 
     @PostMapping("/story/{storyId}")
     public ResponseEntity<CommentDTO> createComment(
             @PathVariable Long storyId,
             @RequestBody CommentRequest request,
-            @AuthenticationPrincipal UserDetails userDetails) {
-        logger.debug("Creating comment for story ID: {} by user: {}", storyId, userDetails.getUsername());
-        Comment comment = commentService.createComment(storyId, userDetails.getUsername(), request.content());
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        logger.debug("Creating comment for story ID: {} by user: {}", storyId, user.getUsername());
+        Comment comment = commentService.createComment(storyId, user.getId(), request.content());
         return ResponseEntity.ok(CommentDTO.fromEntity(comment));
     }
 
@@ -57,36 +68,36 @@ public class CommentController {
     public ResponseEntity<CommentDTO> updateComment(
             @PathVariable Long commentId,
             @RequestBody CommentRequest request,
-            @AuthenticationPrincipal UserDetails userDetails) {
-        logger.debug("Updating comment ID: {} by user: {}", commentId, userDetails.getUsername());
-        Comment comment = commentService.updateComment(commentId, userDetails.getUsername(), request.content());
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        logger.debug("Updating comment ID: {} by user: {}", commentId, user.getUsername());
+        Comment comment = commentService.updateComment(commentId, user.getId(), request.content());
         return ResponseEntity.ok(CommentDTO.fromEntity(comment));
     }
 
     @DeleteMapping("/{commentId}")
     public ResponseEntity<Void> deleteComment(
             @PathVariable Long commentId,
-            @AuthenticationPrincipal UserDetails userDetails) {
-        logger.debug("Deleting comment ID: {} by user: {}", commentId, userDetails.getUsername());
-        commentService.deleteComment(commentId, userDetails.getUsername());
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        logger.debug("Deleting comment ID: {} by user: {}", commentId, user.getUsername());
+        commentService.deleteComment(commentId, user.getId());
         return ResponseEntity.ok().build();
     }
 
     @PostMapping("/{commentId}/like")
     public ResponseEntity<CommentDTO> likeComment(
             @PathVariable Long commentId,
-            @AuthenticationPrincipal UserDetails userDetails) {
-        logger.debug("Liking comment ID: {} by user: {}", commentId, userDetails.getUsername());
-        Comment comment = commentService.likeComment(commentId, userDetails.getUsername());
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        logger.debug("Liking comment ID: {} by user: {}", commentId, user.getUsername());
+        Comment comment = commentService.likeComment(commentId, user.getId());
         return ResponseEntity.ok(CommentDTO.fromEntity(comment));
     }
 
     @DeleteMapping("/{commentId}/like")
     public ResponseEntity<CommentDTO> unlikeComment(
             @PathVariable Long commentId,
-            @AuthenticationPrincipal UserDetails userDetails) {
-        logger.debug("Unliking comment ID: {} by user: {}", commentId, userDetails.getUsername());
-        Comment comment = commentService.unlikeComment(commentId, userDetails.getUsername());
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        logger.debug("Unliking comment ID: {} by user: {}", commentId, user.getUsername());
+        Comment comment = commentService.unlikeComment(commentId, user.getId());
         return ResponseEntity.ok(CommentDTO.fromEntity(comment));
     }
 }
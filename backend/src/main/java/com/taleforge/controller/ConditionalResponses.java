@@ -0,0 +1,48 @@
+package com.taleforge.controller;
+
+import java.util.function.Supplier;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import com.taleforge.service.ContentVersions;
+
+/**
+ * Conditional GET support. The validator is read before the body is built, so
+ * a write racing the request can only make the response look older than it
+ * is, never newer, and a matching {@code If-None-Match} or
+ * {@code If-Modified-Since} short-circuits to {@code 304} without touching the
+ * database.
+ */
+final class ConditionalResponses {
+
+    private ConditionalResponses() {
+    }
+
+    static <T> ResponseEntity<T> ok(WebRequest request, ContentVersions.Validator validator, Supplier<T> body) {
+        return ok(request, validator, false, body);
+    }
+
+    static <T> ResponseEntity<T> okPerUser(WebRequest request, ContentVersions.Validator validator,
+            Supplier<T> body) {
+        return ok(request, validator, true, body);
+    }
+
+    private static <T> ResponseEntity<T> ok(WebRequest request, ContentVersions.Validator validator,
+            boolean perUser, Supplier<T> body) {
+        if (request.checkNotModified(validator.etag(), validator.lastModified())) {
+            return null;
+        }
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .eTag(validator.etag())
+                .lastModified(validator.lastModified())
+                // Revalidate on every use; an explicit policy also keeps Spring Security from sending no-store
+                .cacheControl(CacheControl.noCache());
+        if (perUser) {
+            builder.varyBy(HttpHeaders.AUTHORIZATION);
+        }
+        return builder.body(body.get());
+    }
+}
@@ -2,7 +2,6 @@ package com.taleforge.controller;
 
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -10,6 +9,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.taleforge.security.AuthenticatedUser;
 import com.taleforge.service.LikeService;
 
 import lombok.RequiredArgsConstructor;
@@ -24,24 +24,24 @@ public class LikeController {
     @PostMapping("/stories/{storyId}")
     public ResponseEntity<Void> likeStory(
             @PathVariable Long storyId,
-            @AuthenticationPrincipal UserDetails userDetails) {
-        likeService.likeStory(storyId, userDetails.getUsername());
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        likeService.likeStory(storyId, user.getId());
         return ResponseEntity.ok().build();
     }
 
     @DeleteMapping("/stories/{storyId}")
     public ResponseEntity<Void> unlikeStory(
             @PathVariable Long storyId,
-            @AuthenticationPrincipal UserDetails userDetails) {
-        likeService.unlikeStory(storyId, userDetails.getUsername());
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        likeService.unlikeStory(storyId, user.getId());
         return ResponseEntity.ok().build();
     }
 
     @GetMapping("/stories/{storyId}/status")
     public ResponseEntity<Boolean> hasLikedStory(
             @PathVariable Long storyId,
-            @AuthenticationPrincipal UserDetails userDetails) {
-        boolean hasLiked = likeService.hasLikedStory(storyId, userDetails.getUsername());
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        boolean hasLiked = user != null && likeService.hasLikedStory(storyId, user.getId());
         return ResponseEntity.ok(hasLiked);
     }
 }
\ No newline at end of file
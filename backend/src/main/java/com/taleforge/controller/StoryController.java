@@ -8,6 +8,7 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -17,10 +18,19 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import com.taleforge.dto.CursorPageDTO;
 import com.taleforge.dto.StoryDTO;
+import com.taleforge.dto.StorySearchHitDTO;
+import com.taleforge.dto.StorySummaryDTO;
+import com.taleforge.dto.TagCountDTO;
+import com.taleforge.security.AuthenticatedUser;
+import com.taleforge.service.ContentVersions;
 import com.taleforge.service.LikeService;
+import com.taleforge.service.ResponseCache;
 import com.taleforge.service.StoryService;
+import com.taleforge.service.ViewCountService;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -32,23 +42,72 @@ import lombok.extern.slf4j.Slf4j;
 public class StoryController {
     private final StoryService storyService;
     private final LikeService likeService;
+    private final ViewCountService viewCountService;
+    private final ContentVersions contentVersions;
+    private final ResponseCache responseCache;
 
     @GetMapping
-    public ResponseEntity<Page<StoryDTO>> getAllStories(
+    public ResponseEntity<Page<StorySummaryDTO>> getAllStories(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "createdAt") String sortBy,
-            @RequestParam(defaultValue = "desc") String direction) {
+            @RequestParam(defaultValue = "desc") String direction,
+            WebRequest request) {
         log.info("Getting all stories");
         Sort.Direction sortDirection = Sort.Direction.fromString(direction.toUpperCase());
         PageRequest pageRequest = PageRequest.of(page, size, Sort.by(sortDirection, sortBy));
-        return ResponseEntity.ok(storyService.getAllStories(pageRequest));
+        ContentVersions.Validator version = contentVersions.feeds();
+        return ConditionalResponses.ok(request, version, () -> responseCache.get(ResponseCache.Scope.FEED, null,
+                "page:" + page + ":" + size + ":" + sortBy + ":" + sortDirection, version,
+                () -> storyService.getAllStories(pageRequest)));
+    }
+
+    @GetMapping(params = "cursor")
+    public ResponseEntity<CursorPageDTO<StorySummaryDTO>> getStoryFeed(
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String tag,
+            WebRequest request) {
+        log.debug("Getting story feed after cursor: {}", cursor);
+        ContentVersions.Validator version = contentVersions.feeds();
+        return ConditionalResponses.ok(request, version, () -> responseCache.get(ResponseCache.Scope.FEED, null,
+                "cursor:" + sort + ":" + tag + ":" + size + ":" + cursor, version,
+                () -> storyService.getStoryFeed(sort, tag, cursor, size)));
+    }
+
+    @GetMapping("/filter")
+    public ResponseEntity<Page<StorySummaryDTO>> filterByTags(
+            @RequestParam String tags,
+            @RequestParam(required = false) String sort,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+        log.debug("Filtering stories by tags: {}", tags);
+        return ResponseEntity.ok(storyService.filterByTags(tags, sort, page, size));
+    }
+
+    @GetMapping("/tags")
+    public ResponseEntity<List<TagCountDTO>> getTagFacets(@RequestParam(defaultValue = "50") int limit) {
+        log.debug("Getting top {} tags", limit);
+        return ResponseEntity.ok(storyService.getTagFacets(limit));
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<Page<StorySearchHitDTO>> searchStories(
+            @RequestParam("q") String query,
+            @RequestParam(required = false) String tag,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+        log.debug("Searching stories for: {}", query);
+        return ResponseEntity.ok(storyService.searchStories(query, tag, page, size));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<StoryDTO> getStoryById(@PathVariable Long id) {
+    public ResponseEntity<StoryDTO> getStoryById(@PathVariable Long id, WebRequest request) {
         log.info("Getting story with id: {}", id);
-        return ResponseEntity.ok(storyService.getStoryById(id));
+        ContentVersions.Validator version = contentVersions.story(id);
+        return ConditionalResponses.ok(request, version, () -> responseCache.get(ResponseCache.Scope.STORY, id,
+                "detail", version, () -> storyService.getStoryById(id)));
     }
 
     @PostMapping
@@ -94,42 +153,49 @@ public class StoryController {
     }
 
     @PostMapping("/{id}/view")
-    public ResponseEntity<StoryDTO> incrementViews(@PathVariable Long id) {
-        log.info("Incrementing views for story with id: {}", id);
-        return ResponseEntity.ok(storyService.incrementViews(id));
+    public ResponseEntity<Void> incrementViews(@PathVariable Long id) {
+        log.debug("Recording view for story with id: {}", id);
+        viewCountService.recordView(id);
+        return ResponseEntity.accepted().build();
     }
 
     @PostMapping("/{id}/like")
     public ResponseEntity<StoryDTO> likeStory(
             @PathVariable Long id,
-            Authentication authentication) {
+            @AuthenticationPrincipal AuthenticatedUser user) {
         log.info("Liking story with id: {}", id);
-        likeService.likeStory(id, authentication.getName());
+        likeService.likeStory(id, user.getId());
         return ResponseEntity.ok(storyService.getStoryById(id));
     }
 
     @DeleteMapping("/{id}/like")
     public ResponseEntity<StoryDTO> unlikeStory(
             @PathVariable Long id,
-            Authentication authentication) {
+            @AuthenticationPrincipal AuthenticatedUser user) {
         log.info("Unliking story with id: {}", id);
-        likeService.unlikeStory(id, authentication.getName());
+        likeService.unlikeStory(id, user.getId());
         return ResponseEntity.ok(storyService.getStoryById(id));
     }
 
     @GetMapping("/{id}/like")
     public ResponseEntity<Boolean> hasLikedStory(
             @PathVariable Long id,
-            Authentication authentication) {
+            @AuthenticationPrincipal AuthenticatedUser user) {
         log.info("Checking if user has liked story with id: {}", id);
-        return ResponseEntity.ok(likeService.hasLikedStory(id, authentication.getName()));
+        return ResponseEntity.ok(user != null && likeService.hasLikedStory(id, user.getId()));
     }
 
     @GetMapping("/top")
-    public ResponseEntity<List<StoryDTO>> getTopStories(
-            @RequestParam(defaultValue = "views") String sortBy) {
-        log.info("Getting top stories sorted by: {}", sortBy);
-        return ResponseEntity.ok(storyService.getTopStories(sortBy));
+    public ResponseEntity<List<StorySummaryDTO>> getTopStories(
+            @RequestParam(defaultValue = "views") String sortBy,
+            @RequestParam(required = false) String tag,
+            @RequestParam(defaultValue = "10") int limit,
+            WebRequest request) {
+        log.debug("Getting top stories sorted by: {}", sortBy);
+        ContentVersions.Validator version = contentVersions.feeds();
+        return ConditionalResponses.ok(request, version, () -> responseCache.get(ResponseCache.Scope.FEED, null,
+                "top:" + sortBy + ":" + tag + ":" + limit, version,
+                () -> storyService.getTopStories(sortBy, tag, limit)));
     }
 
     @GetMapping("/author/{username}")
@@ -0,0 +1,31 @@
+package com.taleforge.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * Marks work on the current thread whose reads must see the latest commit, so
+ * {@link ReadWriteRoutingDataSource} sends even its read-only transactions to
+ * the primary.
+ */
+public final class PrimaryReads {
+    private static final ThreadLocal<Boolean> REQUIRED = new ThreadLocal<>();
+
+    private PrimaryReads() {
+    }
+
+    public static <T> T call(Supplier<T> work) {
+        if (isRequired()) {
+            return work.get();
+        }
+        REQUIRED.set(Boolean.TRUE);
+        try {
+            return work.get();
+        } finally {
+            REQUIRED.remove();
+        }
+    }
+
+    public static boolean isRequired() {
+        return REQUIRED.get() != null;
+    }
+}
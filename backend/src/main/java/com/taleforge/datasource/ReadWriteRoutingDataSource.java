@@ -0,0 +1,67 @@
+package com.taleforge.datasource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Hands out replica connections to read-only transactions while the
+ * {@link ReplicaMonitor} allows it, and primary connections to everything
+ * else, including work outside a transaction and reads inside
+ * {@link PrimaryReads}. Must sit behind a
+ * {@code LazyConnectionDataSourceProxy}: the transaction manager asks for a
+ * connection before it marks the transaction read-only, and the proxy defers
+ * that until the first statement.
+ */
+public class ReadWriteRoutingDataSource extends AbstractDataSource {
+    private final DataSource primary;
+    private final DataSource replica;
+    private final ReplicaMonitor monitor;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, ReplicaMonitor monitor) {
+        this.primary = primary;
+        this.replica = replica;
+        this.monitor = monitor;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return route(DataSource::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return route(pool -> pool.getConnection(username, password));
+    }
+
+    private Connection route(Connector connector) throws SQLException {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            monitor.routed(ReplicaMonitor.Route.WRITE);
+            return connector.connect(primary);
+        }
+        if (PrimaryReads.isRequired()) {
+            monitor.routed(ReplicaMonitor.Route.RECENT_WRITE);
+            return connector.connect(primary);
+        }
+        if (monitor.isUsable()) {
+            try {
+                Connection connection = connector.connect(replica);
+                monitor.routed(ReplicaMonitor.Route.READ);
+                return connection;
+            } catch (SQLException e) {
+                monitor.connectionFailed(e);
+            }
+        }
+        monitor.routed(ReplicaMonitor.Route.FALLBACK);
+        return connector.connect(primary);
+    }
+
+    @FunctionalInterface
+    private interface Connector {
+        Connection connect(DataSource pool) throws SQLException;
+    }
+}
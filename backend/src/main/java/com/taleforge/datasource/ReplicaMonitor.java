@@ -0,0 +1,133 @@
+package com.taleforge.datasource;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.sql.DataSource;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Decides whether read-only transactions may use the replica. Every
+ * {@code datasource.replica.check-interval-ms} it runs the lag query on the
+ * replica. Reads go to the replica only while that query succeeds and reports
+ * a lag of at most {@code datasource.replica.max-lag}. It also counts where
+ * {@link ReadWriteRoutingDataSource} sent each connection.
+ */
+@Slf4j
+public class ReplicaMonitor implements MeterBinder {
+    /**
+     * Seconds since the last replayed transaction, or 0 once everything
+     * received is replayed, since an idle primary writes nothing to replay.
+     */
+    public static final String POSTGRES_LAG_QUERY = "SELECT COALESCE(CASE "
+            + "WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 "
+            + "ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) END, 0)";
+    private static final int CHECK_TIMEOUT_SECONDS = 2;
+
+    public enum Route {
+        WRITE("primary"), READ("replica"), FALLBACK("primary"), RECENT_WRITE("primary");
+
+        private final String target;
+
+        Route(String target) {
+            this.target = target;
+        }
+    }
+
+    private final JdbcTemplate replica;
+    private final String lagQuery;
+    private final double maxLagSeconds;
+    private final Map<Route, LongAdder> routed = new EnumMap<>(Route.class);
+
+    private volatile boolean reachable;
+    private volatile double lagSeconds;
+    private final AtomicBoolean usable = new AtomicBoolean();
+
+    public ReplicaMonitor(DataSource replica, String lagQuery, Duration maxLag) {
+        this.replica = new JdbcTemplate(replica);
+        this.replica.setQueryTimeout(CHECK_TIMEOUT_SECONDS);
+        this.lagQuery = lagQuery;
+        this.maxLagSeconds = maxLag.toMillis() / 1000.0;
+        for (Route route : Route.values()) {
+            routed.put(route, new LongAdder());
+        }
+    }
+
+    public DataSource getReplica() {
+        return replica.getDataSource();
+    }
+
+    public boolean isUsable() {
+        return usable.get();
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.replica.check-interval-ms:5000}")
+    public void check() {
+        try {
+            Double lag = replica.queryForObject(lagQuery, Double.class);
+            lagSeconds = lag != null ? lag : 0;
+            reachable = true;
+        } catch (DataAccessException e) {
+            reachable = false;
+            log.debug("Replica check failed", e);
+        }
+        update();
+    }
+
+    /**
+     * Called when the replica refused a connection between checks, so the
+     * following reads go straight to the primary.
+     */
+    void connectionFailed(Exception e) {
+        reachable = false;
+        log.debug("Replica connection failed", e);
+        update();
+    }
+
+    void routed(Route route) {
+        routed.get(route).increment();
+    }
+
+    private void update() {
+        boolean nowUsable = reachable && lagSeconds <= maxLagSeconds;
+        // Only the caller that flips the flag logs the transition, without holding a monitor
+        if (!usable.compareAndSet(!nowUsable, nowUsable)) {
+            return;
+        }
+        if (nowUsable) {
+            log.info("Routing reads to the replica, lag {} s", lagSeconds);
+        } else if (!reachable) {
+            log.warn("Replica unreachable, routing reads to the primary");
+        } else {
+            log.warn("Replica lag {} s exceeds {} s, routing reads to the primary", lagSeconds, maxLagSeconds);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("datasource.replica.lag", this, monitor -> monitor.lagSeconds)
+                .baseUnit("seconds")
+                .description("Replication lag at the last check")
+                .register(registry);
+        Gauge.builder("datasource.replica.usable", this, monitor -> monitor.usable.get() ? 1 : 0)
+                .description("Whether read-only transactions currently go to the replica")
+                .register(registry);
+        routed.forEach((route, count) -> FunctionCounter.builder("datasource.routing", count, LongAdder::sum)
+                .description("Connections handed out, by pool and reason")
+                .tag("target", route.target)
+                .tag("reason", route.name().toLowerCase())
+                .register(registry));
+    }
+}
@@ -0,0 +1,47 @@
+package com.taleforge.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.MapsId;
+import jakarta.persistence.OneToOne;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+/**
+ * The text of a {@link Chapter}, kept in its own table so it is only read when
+ * the chapter itself is opened.
+ */
+@Entity
+@Table(name = "chapter_bodies")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChapterBody {
+    public static final int MAX_LENGTH = 200_000;
+
+    @Id
+    @Column(name = "chapter_id")
+    private Long chapterId;
+
+    @OneToOne(fetch = FetchType.LAZY)
+    @MapsId
+    @JoinColumn(name = "chapter_id")
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private Chapter chapter;
+
+    @Column(nullable = false, length = MAX_LENGTH)
+    private String content;
+
+    public ChapterBody(Chapter chapter, String content) {
+        this.chapter = chapter;
+        this.content = content;
+    }
+}
@@ -4,6 +4,7 @@ import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.Set;
 
+import org.hibernate.annotations.ColumnDefault;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -22,11 +23,14 @@ import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.persistence.Transient;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 @Data
 @Entity
@@ -36,7 +40,8 @@ import lombok.NoArgsConstructor;
 @EntityListeners(AuditingEntityListener.class)
 public class Comment {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "comment_sequence")
+    @SequenceGenerator(name = "comment_sequence", sequenceName = "comment_sequence", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 1000)
@@ -52,11 +57,18 @@ public class Comment {
 
     @OneToMany(mappedBy = "comment", cascade = jakarta.persistence.CascadeType.ALL, orphanRemoval = true)
     @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     private Set<CommentLike> likes = new HashSet<>();
 
     @Transient
     private boolean liked = false;
 
+    // Maintained by CommentService through bulk updates only
+    @Column(name = "like_count", insertable = false, updatable = false)
+    @ColumnDefault("0")
+    private int likeCount = 0;
+
     @Column(nullable = false)
     private boolean edited = false;
 
@@ -78,10 +90,6 @@ public class Comment {
         updatedAt = LocalDateTime.now();
     }
 
-    public int getLikesCount() {
-        return likes.size();
-    }
-
     @Override
     public boolean equals(Object o) {
         if (this == o)
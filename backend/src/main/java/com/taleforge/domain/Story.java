@@ -4,6 +4,9 @@ import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.Set;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -24,11 +27,14 @@ import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 @Entity
 @Table(name = "stories")
@@ -38,8 +44,10 @@ import lombok.NoArgsConstructor;
 @Builder
 @EntityListeners(AuditingEntityListener.class)
 public class Story {
+    // Allocated in blocks of 50 so inserts can be batched; the sequence holds the top of the last block
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "story_sequence")
+    @SequenceGenerator(name = "story_sequence", sequenceName = "story_sequence", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -60,28 +68,55 @@ public class Story {
     @Builder.Default
     private boolean published = false;
 
-    @Column(nullable = false)
+    // Maintained by ViewCountService through JDBC only
+    @Column(nullable = false, insertable = false, updatable = false)
+    @ColumnDefault("0")
     @Builder.Default
     private int views = 0;
 
-    @Column(nullable = false)
+    // Maintained by LikeService through bulk updates only
+    @Column(nullable = false, insertable = false, updatable = false)
+    @ColumnDefault("0")
     @Builder.Default
     private int likes = 0;
 
+    // Maintained by TrendingService through JDBC only
+    @Column(name = "trending_score", insertable = false, updatable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private double trendingScore = 0;
+
+    // Maintained by CommentService through bulk updates only
+    @Column(name = "comments_count", insertable = false, updatable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private int commentsCount = 0;
+
+    // Maintained by ChapterService through bulk updates only
+    @Column(name = "chapters_count", insertable = false, updatable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private int chaptersCount = 0;
+
     @ElementCollection(fetch = FetchType.EAGER)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "story-tags")
     @CollectionTable(name = "story_tags", joinColumns = @JoinColumn(name = "story_id"))
     @Column(name = "tag")
     @Builder.Default
     private Set<String> tags = new HashSet<>();
 
-    @OneToMany(mappedBy = "story", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
+    @OneToMany(mappedBy = "story", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     @JsonManagedReference(value = "story-comments")
     @Builder.Default
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     private Set<Comment> comments = new HashSet<>();
 
     @OneToMany(mappedBy = "story", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     @JsonManagedReference(value = "story-likes")
     @Builder.Default
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     private Set<Like> likesSet = new HashSet<>();
 
     @CreatedDate
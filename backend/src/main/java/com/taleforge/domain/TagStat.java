@@ -0,0 +1,27 @@
+package com.taleforge.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Number of published stories carrying a tag, maintained alongside story
+ * writes so tag facets never aggregate {@code story_tags}.
+ */
+@Entity
+@Table(name = "tag_stats")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TagStat {
+    @Id
+    @Column(length = 50)
+    private String tag;
+
+    @Column(name = "story_count", nullable = false)
+    private int storyCount;
+}
@@ -0,0 +1,20 @@
+package com.taleforge.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.Data;
+
+@Data
+public class ChapterDTO {
+    private Long id;
+    private Long storyId;
+    private int number;
+    private String title;
+    private String content;
+    private int wordCount;
+    private int chapterCount;
+    private ChapterSummaryDTO previous;
+    private ChapterSummaryDTO next;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
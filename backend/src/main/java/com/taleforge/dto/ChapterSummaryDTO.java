@@ -0,0 +1,19 @@
+package com.taleforge.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChapterSummaryDTO {
+    private Long id;
+    private int number;
+    private String title;
+    private int wordCount;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
@@ -37,7 +37,7 @@ public class CommentDTO {
         authorDTO.setDisplayName(comment.getAuthor().getDisplayName());
         dto.setAuthor(authorDTO);
 
-        dto.setLikes(comment.getLikesCount());
+        dto.setLikes(comment.getLikeCount());
         dto.setLiked(comment.isLiked());
         dto.setEdited(comment.isEdited());
         dto.setCreatedAt(comment.getCreatedAt());
@@ -0,0 +1,17 @@
+package com.taleforge.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CommentPageDTO {
+    private List<CommentDTO> items;
+    private String nextCursor;
+    private boolean hasMore;
+    private int total;
+}
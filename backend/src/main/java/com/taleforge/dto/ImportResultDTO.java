@@ -0,0 +1,16 @@
+package com.taleforge.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportResultDTO {
+    private int stories;
+    private int tags;
+    private int comments;
+    private long elapsedMillis;
+    private double rowsPerSecond;
+}
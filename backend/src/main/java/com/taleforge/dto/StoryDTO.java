@@ -36,6 +36,7 @@ public class StoryDTO {
     private boolean published;
     private int views;
     private int likes;
+    private int chapterCount;
     private Set<String> tags;
 
     @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss.SSS'Z'")
@@ -61,6 +62,7 @@ public class StoryDTO {
         dto.setTags(story.getTags() != null ? story.getTags() : new HashSet<>());
         dto.setViews(story.getViews());
         dto.setLikes(story.getLikes());
+        dto.setChapterCount(story.getChaptersCount());
         return dto;
     }
 } 
\ No newline at end of file
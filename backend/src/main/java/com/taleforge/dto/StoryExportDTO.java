@@ -0,0 +1,55 @@
+package com.taleforge.dto;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One line of the catalogue export. Built straight from a JPQL projection so
+ * the export never puts {@code Story} entities in a persistence context.
+ */
+@Data
+@NoArgsConstructor
+public class StoryExportDTO {
+    private Long id;
+    private String title;
+    private String description;
+    private String content;
+    private Long authorId;
+    private String authorUsername;
+    private boolean published;
+    private int views;
+    private int likes;
+    private int commentsCount;
+    private int chaptersCount;
+    private Set<String> tags = new HashSet<>();
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss.SSS'Z'")
+    private LocalDateTime createdAt;
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss.SSS'Z'")
+    private LocalDateTime updatedAt;
+
+    public StoryExportDTO(Long id, String title, String description, String content, Long authorId,
+            String authorUsername, boolean published, int views, int likes, int commentsCount, int chaptersCount,
+            LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.id = id;
+        this.title = title;
+        this.description = description;
+        this.content = content;
+        this.authorId = authorId;
+        this.authorUsername = authorUsername;
+        this.published = published;
+        this.views = views;
+        this.likes = likes;
+        this.commentsCount = commentsCount;
+        this.chaptersCount = chaptersCount;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+}
@@ -0,0 +1,32 @@
+package com.taleforge.dto;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One story of a bulk import, with its tags and comments. Authors are
+ * referenced by username and must already exist.
+ */
+@Data
+@NoArgsConstructor
+public class StoryImportDTO {
+    private String title;
+    private String description;
+    private String content;
+    private String authorUsername;
+    private boolean published;
+    private Set<String> tags = new HashSet<>();
+    private List<CommentImportDTO> comments = new ArrayList<>();
+
+    @Data
+    @NoArgsConstructor
+    public static class CommentImportDTO {
+        private String authorUsername;
+        private String content;
+    }
+}
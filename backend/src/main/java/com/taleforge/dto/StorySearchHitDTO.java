@@ -0,0 +1,14 @@
+package com.taleforge.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StorySearchHitDTO {
+    private StorySummaryDTO story;
+    private float score;
+    private String highlight;
+}
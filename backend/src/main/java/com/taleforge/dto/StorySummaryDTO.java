@@ -0,0 +1,69 @@
+package com.taleforge.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Feed variant of {@link StoryDTO}. Carries an excerpt instead of the full
+ * content and is built straight from a JPQL projection, so listing pages never
+ * materialize {@code Story} entities or their comments.
+ */
+@Data
+@NoArgsConstructor
+public class StorySummaryDTO {
+    public static final int EXCERPT_LENGTH = 200;
+
+    private Long id;
+    private String title;
+    private String description;
+    private String excerpt;
+    private AuthorDTO author;
+    private boolean published;
+    private int views;
+    private int likes;
+    @JsonIgnore
+    private double trendingScore;
+    private Set<String> tags = new HashSet<>();
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss.SSS'Z'")
+    private LocalDateTime createdAt;
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss.SSS'Z'")
+    private LocalDateTime updatedAt;
+
+    @Data
+    @NoArgsConstructor
+    public static class AuthorDTO {
+        private Long id;
+        private String username;
+        private String displayName;
+    }
+
+    public StorySummaryDTO(Long id, String title, String description, String excerpt,
+            Long authorId, String authorUsername, String authorDisplayName,
+            boolean published, int views, int likes, double trendingScore,
+            LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.id = id;
+        this.title = title;
+        this.description = description;
+        this.excerpt = excerpt;
+        this.published = published;
+        this.views = views;
+        this.likes = likes;
+        this.trendingScore = trendingScore;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+
+        AuthorDTO authorDTO = new AuthorDTO();
+        authorDTO.setId(authorId);
+        authorDTO.setUsername(authorUsername);
+        authorDTO.setDisplayName(authorDisplayName);
+        this.author = authorDTO;
+    }
+}
@@ -0,0 +1,8 @@
+package com.taleforge.event;
+
+/**
+ * Published by {@code ChapterService} after a chapter is added, edited or
+ * removed. Removing a chapter renumbers the ones after it.
+ */
+public record ChapterChangedEvent(Long storyId, Long chapterId) {
+}
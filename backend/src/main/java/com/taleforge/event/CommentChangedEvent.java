@@ -0,0 +1,8 @@
+package com.taleforge.event;
+
+/**
+ * Published by {@code CommentService} after any write that changes how a
+ * story's comment thread renders: new, edited or deleted comments and likes.
+ */
+public record CommentChangedEvent(Long storyId, Long commentId) {
+}
@@ -0,0 +1,43 @@
+package com.taleforge.event;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+import com.taleforge.domain.Story;
+
+/**
+ * Published by {@code StoryService} after every story write. Listeners bind to
+ * the commit, and the snapshot is copied so they never touch a detached entity.
+ */
+public record StoryChangedEvent(
+        Type type,
+        Long storyId,
+        String title,
+        String description,
+        String content,
+        Set<String> tags,
+        boolean published,
+        int views,
+        int likes,
+        int comments,
+        LocalDateTime createdAt) {
+
+    public enum Type {
+        CREATED, UPDATED, PUBLISHED, UNPUBLISHED, DELETED
+    }
+
+    public static StoryChangedEvent of(Type type, Story story) {
+        return new StoryChangedEvent(
+                type,
+                story.getId(),
+                story.getTitle(),
+                story.getDescription(),
+                story.getContent(),
+                story.getTags() != null ? Set.copyOf(story.getTags()) : Set.of(),
+                story.isPublished() && type != Type.DELETED,
+                story.getViews(),
+                story.getLikes(),
+                story.getCommentsCount(),
+                story.getCreatedAt());
+    }
+}
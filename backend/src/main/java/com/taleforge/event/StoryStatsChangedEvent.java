@@ -0,0 +1,21 @@
+package com.taleforge.event;
+
+/**
+ * Published when a story's counters move without a full story write, i.e. on
+ * view flushes, like toggles and comment writes. Deltas are relative to the
+ * committed row.
+ */
+public record StoryStatsChangedEvent(Long storyId, int viewsDelta, int likesDelta, int commentsDelta) {
+
+    public static StoryStatsChangedEvent views(Long storyId, int delta) {
+        return new StoryStatsChangedEvent(storyId, delta, 0, 0);
+    }
+
+    public static StoryStatsChangedEvent likes(Long storyId, int delta) {
+        return new StoryStatsChangedEvent(storyId, 0, delta, 0);
+    }
+
+    public static StoryStatsChangedEvent comments(Long storyId, int delta) {
+        return new StoryStatsChangedEvent(storyId, 0, 0, delta);
+    }
+}
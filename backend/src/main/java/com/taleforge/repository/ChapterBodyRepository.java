@@ -0,0 +1,25 @@
+package com.taleforge.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import com.taleforge.domain.ChapterBody;
+
+@Repository
+public interface ChapterBodyRepository extends JpaRepository<ChapterBody, Long> {
+    @Query("SELECT b.content FROM ChapterBody b WHERE b.chapterId = :chapterId")
+    Optional<String> findContent(Long chapterId);
+
+    // Writes go straight to the row so the previous text is never loaded
+    @Modifying
+    @Query("UPDATE ChapterBody b SET b.content = :content WHERE b.chapterId = :chapterId")
+    int updateContent(Long chapterId, String content);
+
+    @Modifying
+    @Query("DELETE FROM ChapterBody b WHERE b.chapterId = :chapterId")
+    int deleteByChapterId(Long chapterId);
+}
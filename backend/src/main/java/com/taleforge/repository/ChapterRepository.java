@@ -0,0 +1,28 @@
+package com.taleforge.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import com.taleforge.domain.Chapter;
+import com.taleforge.dto.ChapterSummaryDTO;
+
+@Repository
+public interface ChapterRepository extends JpaRepository<Chapter, Long> {
+    @Query("SELECT new com.taleforge.dto.ChapterSummaryDTO(c.id, c.number, c.title, c.wordCount, c.createdAt, "
+            + "c.updatedAt) FROM Chapter c WHERE c.story.id = :storyId ORDER BY c.number")
+    List<ChapterSummaryDTO> findSummariesByStoryId(Long storyId);
+
+    Optional<Chapter> findByStoryIdAndNumber(Long storyId, int number);
+
+    @Query("SELECT COALESCE(MAX(c.number), 0) FROM Chapter c WHERE c.story.id = :storyId")
+    int findLastNumber(Long storyId);
+
+    @Modifying
+    @Query("UPDATE Chapter c SET c.number = c.number - 1 WHERE c.story.id = :storyId AND c.number > :number")
+    int closeGap(Long storyId, int number);
+}
@@ -1,17 +1,41 @@
 package com.taleforge.repository;
 
+import java.util.Collection;
 import java.util.Optional;
+import java.util.Set;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import com.taleforge.domain.Comment;
 import com.taleforge.domain.CommentLike;
 import com.taleforge.domain.User;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface CommentLikeRepository extends JpaRepository<CommentLike, CommentLike.CommentLikeId> {
     boolean existsByUserAndComment(User user, Comment comment);
 
     Optional<CommentLike> findByUserAndComment(User user, Comment comment);
+
+    // Authors cannot like their own comments, so their likes are never inserted
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "comment_likes"))
+    @Query(value = "INSERT INTO comment_likes (user_id, comment_id, created_at) "
+            + "SELECT :userId, c.id, CURRENT_TIMESTAMP FROM comments c "
+            + "WHERE c.id = :commentId AND c.author_id <> :userId "
+            + "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(Long userId, Long commentId);
+
+    @Modifying
+    @Query("DELETE FROM CommentLike cl WHERE cl.id.userId = :userId AND cl.id.commentId = :commentId")
+    int deleteByUserIdAndCommentId(Long userId, Long commentId);
+
+    @Query("SELECT cl.id.commentId FROM CommentLike cl WHERE cl.id.userId = :userId AND cl.id.commentId IN :commentIds")
+    Set<Long> findLikedCommentIds(Long userId, Collection<Long> commentIds);
 }
\ No newline at end of file
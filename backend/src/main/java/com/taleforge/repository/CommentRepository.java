@@ -1,17 +1,18 @@
 package com.taleforge.repository;
 
-import java.util.List;
-
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import com.taleforge.domain.Comment;
 
 @Repository
-public interface CommentRepository extends JpaRepository<Comment, Long> {
-    @Query("SELECT c FROM Comment c LEFT JOIN FETCH c.author LEFT JOIN FETCH c.story WHERE c.story.id = :storyId ORDER BY c.createdAt DESC")
-    List<Comment> findByStoryIdOrderByCreatedAtDesc(Long storyId);
-
+public interface CommentRepository extends JpaRepository<Comment, Long>, CommentRepositoryCustom {
     void deleteByAuthorIdAndId(Long authorId, Long id);
+
+    @Modifying
+    @Query("UPDATE Comment c SET c.likeCount = c.likeCount + :delta "
+            + "WHERE c.id = :commentId AND c.likeCount + :delta >= 0")
+    int adjustLikeCount(Long commentId, int delta);
 }
\ No newline at end of file
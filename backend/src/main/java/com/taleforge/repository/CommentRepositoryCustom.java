@@ -0,0 +1,14 @@
+package com.taleforge.repository;
+
+import java.util.List;
+
+import com.taleforge.domain.Comment;
+
+public interface CommentRepositoryCustom {
+    /**
+     * Keyset page of a story's comments, with their authors, ordered by
+     * {@code sort} and then id. Passing a null {@code lastId} returns the first
+     * page.
+     */
+    List<Comment> findThreadAfter(Long storyId, CommentSort sort, Object lastValue, Long lastId, int limit);
+}
@@ -0,0 +1,40 @@
+package com.taleforge.repository;
+
+import java.util.List;
+
+import com.taleforge.domain.Comment;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+public class CommentRepositoryImpl implements CommentRepositoryCustom {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Comment> findThreadAfter(Long storyId, CommentSort sort, Object lastValue, Long lastId, int limit) {
+        String column = "c." + sort.getProperty();
+        boolean ascending = sort.getDirection().isAscending();
+        String order = ascending ? "ASC" : "DESC";
+
+        StringBuilder jpql = new StringBuilder("SELECT c FROM Comment c JOIN FETCH c.author WHERE c.story.id = :storyId");
+        if (lastId != null) {
+            // Leading bound keeps the seek on the (story_id, column, id) index prefix
+            String bound = ascending ? " >= " : " <= ";
+            String strict = ascending ? " > " : " < ";
+            jpql.append(" AND ").append(column).append(bound).append(":lastValue")
+                    .append(" AND (").append(column).append(strict).append(":lastValue")
+                    .append(" OR c.id").append(strict).append(":lastId)");
+        }
+        jpql.append(" ORDER BY ").append(column).append(' ').append(order).append(", c.id ").append(order);
+
+        TypedQuery<Comment> query = entityManager.createQuery(jpql.toString(), Comment.class)
+                .setParameter("storyId", storyId);
+        if (lastId != null) {
+            query.setParameter("lastValue", lastValue);
+            query.setParameter("lastId", lastId);
+        }
+        return query.setMaxResults(limit).getResultList();
+    }
+}
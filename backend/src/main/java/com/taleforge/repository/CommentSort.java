@@ -0,0 +1,39 @@
+package com.taleforge.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Sort;
+
+import lombok.Getter;
+
+@Getter
+public enum CommentSort {
+    NEWEST("newest", "createdAt", Sort.Direction.DESC, "recent"),
+    OLDEST("oldest", "createdAt", Sort.Direction.ASC),
+    TOP("top", "likeCount", Sort.Direction.DESC, "likes", "liked");
+
+    private final String key;
+    private final String property;
+    private final Sort.Direction direction;
+    private final List<String> aliases;
+
+    CommentSort(String key, String property, Sort.Direction direction, String... aliases) {
+        this.key = key;
+        this.property = property;
+        this.direction = direction;
+        this.aliases = List.of(aliases);
+    }
+
+    public static CommentSort from(String sort) {
+        if (sort == null) {
+            return NEWEST;
+        }
+        for (CommentSort value : values()) {
+            if (value.key.equalsIgnoreCase(sort)
+                    || value.aliases.stream().anyMatch(alias -> alias.equalsIgnoreCase(sort))) {
+                return value;
+            }
+        }
+        return NEWEST;
+    }
+}
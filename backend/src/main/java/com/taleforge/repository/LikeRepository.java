@@ -2,13 +2,19 @@ package com.taleforge.repository;
 
 import java.util.Optional;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import com.taleforge.domain.Like;
 import com.taleforge.domain.Story;
 import com.taleforge.domain.User;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface LikeRepository extends JpaRepository<Like, Like.LikeId> {
     boolean existsByUserAndStory(User user, Story story);
@@ -18,4 +24,16 @@ public interface LikeRepository extends JpaRepository<Like, Like.LikeId> {
     void deleteByUserAndStory(User user, Story story);
 
     long countByStory(Story story);
-}
\ No newline at end of file
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "likes"))
+    @Query(value = "INSERT INTO likes (user_id, story_id, created_at) "
+            + "SELECT :userId, s.id, CURRENT_TIMESTAMP FROM stories s WHERE s.id = :storyId "
+            + "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(Long userId, Long storyId);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "likes"))
+    @Query(value = "DELETE FROM likes WHERE user_id = :userId AND story_id = :storyId", nativeQuery = true)
+    int deleteByUserIdAndStoryId(Long userId, Long storyId);
+}
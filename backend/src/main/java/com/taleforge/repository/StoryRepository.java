@@ -1,23 +1,116 @@
 package com.taleforge.repository;
 
 import com.taleforge.domain.Story;
+import com.taleforge.dto.StoryExportDTO;
+import com.taleforge.dto.StorySummaryDTO;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface StoryRepository extends JpaRepository<Story, Long> {
+public interface StoryRepository extends JpaRepository<Story, Long>, StoryRepositoryCustom {
+    String SUMMARY_SELECT = "SELECT new com.taleforge.dto.StorySummaryDTO(s.id, s.title, s.description, "
+            + "SUBSTRING(s.content, 1, " + StorySummaryDTO.EXCERPT_LENGTH + "), "
+            + "a.id, a.username, a.displayName, s.published, s.views, s.likes, s.trendingScore, s.createdAt, s.updatedAt) "
+            + "FROM Story s JOIN s.author a";
+
     List<Story> findByAuthorUsername(String username);
     
-    List<Story> findByTitleContainingIgnoreCaseOrDescriptionContainingIgnoreCase(String title, String description);
     
     List<Story> findByTagsContaining(String tag);
     
     List<Story> findTop10ByOrderByViewsDesc();
 
     Page<Story> findByPublishedTrue(Pageable pageable);
-    Page<Story> findByTagsContainingAndPublishedTrue(String tag, Pageable pageable);
-} 
\ No newline at end of file
+
+    @Query(value = SUMMARY_SELECT,
+            countQuery = "SELECT COUNT(s) FROM Story s")
+    Page<StorySummaryDTO> findAllSummaries(Pageable pageable);
+
+    @Query(value = SUMMARY_SELECT + " WHERE s.published = true",
+            countQuery = "SELECT COUNT(s) FROM Story s WHERE s.published = true")
+    Page<StorySummaryDTO> findPublishedSummaries(Pageable pageable);
+
+    // Joining the tag drives the lookup from the (tag, story_id) index
+    @Query(value = SUMMARY_SELECT + " JOIN s.tags t WHERE t = :tag AND s.published = true",
+            countQuery = "SELECT COUNT(s) FROM Story s JOIN s.tags t WHERE t = :tag AND s.published = true")
+    Page<StorySummaryDTO> findPublishedSummariesByTag(String tag, Pageable pageable);
+
+    @Query(SUMMARY_SELECT + " WHERE s.published = true AND s.id IN :storyIds")
+    List<StorySummaryDTO> findPublishedSummariesByIds(Collection<Long> storyIds);
+
+    @Query(SUMMARY_SELECT + " WHERE s.published = true AND s.id IN :storyIds")
+    List<StorySummaryDTO> findPublishedSummariesByIds(Collection<Long> storyIds, Pageable pageable);
+
+    @Query("SELECT s.id FROM Story s WHERE s.published = true")
+    List<Long> findPublishedIds(Pageable pageable);
+
+    @Query("SELECT s.id, s.title, s.description, s.content, s.createdAt FROM Story s "
+            + "WHERE s.published = true AND s.id > :afterId ORDER BY s.id")
+    List<Object[]> findPublishedForIndexing(Long afterId, Pageable pageable);
+
+    @Query("SELECT s.id, s.title, s.description, s.content, s.published FROM Story s "
+            + "WHERE s.updatedAt > :since AND s.id > :afterId ORDER BY s.id")
+    List<Object[]> findUpdatedForIndexing(LocalDateTime since, Long afterId, Pageable pageable);
+
+    long countByPublishedTrue();
+
+    @Query("SELECT s.id, s.views, s.likes, s.createdAt, s.commentsCount FROM Story s "
+            + "WHERE s.published = true AND s.id > :afterId ORDER BY s.id")
+    List<Object[]> findPublishedRankingsAfter(Long afterId, Pageable pageable);
+
+    @Query("SELECT s.id, s.views, s.likes, s.createdAt, s.commentsCount FROM Story s "
+            + "WHERE s.published = true AND s.id IN :storyIds")
+    List<Object[]> findPublishedRankingsByIds(Collection<Long> storyIds);
+
+    @Query("SELECT new com.taleforge.dto.StoryExportDTO(s.id, s.title, s.description, s.content, a.id, a.username, "
+            + "s.published, s.views, s.likes, s.commentsCount, s.chaptersCount, s.createdAt, s.updatedAt) "
+            + "FROM Story s JOIN s.author a WHERE s.id > :afterId ORDER BY s.id")
+    List<StoryExportDTO> findExportRowsAfter(Long afterId, Pageable pageable);
+
+    @Query("SELECT s.id, t FROM Story s JOIN s.tags t WHERE s.id IN :storyIds")
+    List<Object[]> findTagsByStoryIds(Collection<Long> storyIds);
+
+    @Modifying
+    @Query("UPDATE Story s SET s.likes = s.likes + :delta WHERE s.id = :storyId AND s.likes + :delta >= 0")
+    int adjustLikes(Long storyId, int delta);
+
+    @Query("SELECT s.commentsCount FROM Story s WHERE s.id = :storyId")
+    Optional<Integer> findCommentsCount(Long storyId);
+
+    @Modifying
+    @Query("UPDATE Story s SET s.commentsCount = s.commentsCount + :delta "
+            + "WHERE s.id = :storyId AND s.commentsCount + :delta >= 0")
+    int adjustCommentsCount(Long storyId, int delta);
+
+    @Modifying
+    @Query("UPDATE Story s SET s.commentsCount = (SELECT COUNT(c) FROM Comment c WHERE c.story.id = s.id) "
+            + "WHERE s.id IN :storyIds")
+    int recountComments(Collection<Long> storyIds);
+
+    @Modifying
+    @Query("UPDATE Story s SET s.chaptersCount = s.chaptersCount + :delta "
+            + "WHERE s.id = :storyId AND s.chaptersCount + :delta >= 0")
+    int adjustChaptersCount(Long storyId, int delta);
+
+    @Query("SELECT a.username FROM Story s JOIN s.author a WHERE s.id = :storyId")
+    Optional<String> findAuthorUsername(Long storyId);
+
+    // Chapters are not mapped on Story, so they are removed before the story itself
+    @Modifying
+    @Query("DELETE FROM ChapterBody b "
+            + "WHERE b.chapterId IN (SELECT c.id FROM Chapter c WHERE c.story.id = :storyId)")
+    int deleteChapterBodies(Long storyId);
+
+    @Modifying
+    @Query("DELETE FROM Chapter c WHERE c.story.id = :storyId")
+    int deleteChapters(Long storyId);
+} 
@@ -0,0 +1,14 @@
+package com.taleforge.repository;
+
+import java.util.List;
+
+import com.taleforge.dto.StorySummaryDTO;
+
+public interface StoryRepositoryCustom {
+    /**
+     * Keyset page of published story summaries ordered by {@code sort} and then
+     * id. Passing a null {@code lastId} returns the first page.
+     */
+    List<StorySummaryDTO> findPublishedSummariesAfter(StorySort sort, String tag, Object lastValue, Long lastId,
+            int limit);
+}
@@ -0,0 +1,48 @@
+package com.taleforge.repository;
+
+import java.util.List;
+
+import com.taleforge.dto.StorySummaryDTO;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+public class StoryRepositoryImpl implements StoryRepositoryCustom {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<StorySummaryDTO> findPublishedSummariesAfter(StorySort sort, String tag, Object lastValue,
+            Long lastId, int limit) {
+        String column = "s." + sort.getProperty();
+        boolean ascending = sort.getDirection().isAscending();
+        String order = ascending ? "ASC" : "DESC";
+
+        StringBuilder jpql = new StringBuilder(StoryRepository.SUMMARY_SELECT);
+        if (tag != null) {
+            jpql.append(" JOIN s.tags t WHERE t = :tag AND s.published = true");
+        } else {
+            jpql.append(" WHERE s.published = true");
+        }
+        if (lastId != null) {
+            // Leading bound keeps the seek on the (column, id) index prefix
+            String bound = ascending ? " >= " : " <= ";
+            String strict = ascending ? " > " : " < ";
+            jpql.append(" AND ").append(column).append(bound).append(":lastValue")
+                    .append(" AND (").append(column).append(strict).append(":lastValue")
+                    .append(" OR s.id").append(strict).append(":lastId)");
+        }
+        jpql.append(" ORDER BY ").append(column).append(' ').append(order).append(", s.id ").append(order);
+
+        TypedQuery<StorySummaryDTO> query = entityManager.createQuery(jpql.toString(), StorySummaryDTO.class);
+        if (tag != null) {
+            query.setParameter("tag", tag);
+        }
+        if (lastId != null) {
+            query.setParameter("lastValue", lastValue);
+            query.setParameter("lastId", lastId);
+        }
+        return query.setMaxResults(limit).getResultList();
+    }
+}
@@ -0,0 +1,45 @@
+package com.taleforge.repository;
+
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+
+import lombok.Getter;
+
+@Getter
+public enum StorySort {
+    NEWEST("newest", "createdAt", Sort.Direction.DESC, "recent"),
+    OLDEST("oldest", "createdAt", Sort.Direction.ASC),
+    POPULAR("popular", "views", Sort.Direction.DESC, "views"),
+    LIKES("likes", "likes", Sort.Direction.DESC),
+    TRENDING("trending", "trendingScore", Sort.Direction.DESC);
+
+    private final String key;
+    private final String property;
+    private final Sort.Direction direction;
+    private final List<String> aliases;
+
+    StorySort(String key, String property, Sort.Direction direction, String... aliases) {
+        this.key = key;
+        this.property = property;
+        this.direction = direction;
+        this.aliases = List.of(aliases);
+    }
+
+    public static StorySort from(String sort) {
+        if (sort == null) {
+            return NEWEST;
+        }
+        for (StorySort value : values()) {
+            if (value.key.equalsIgnoreCase(sort)
+                    || value.aliases.stream().anyMatch(alias -> alias.equalsIgnoreCase(sort))) {
+                return value;
+            }
+        }
+        return NEWEST;
+    }
+
+    public Sort toSort() {
+        return Sort.by(direction, property).and(Sort.by(direction, "id"));
+    }
+}
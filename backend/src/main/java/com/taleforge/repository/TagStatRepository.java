@@ -0,0 +1,41 @@
+package com.taleforge.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import com.taleforge.domain.TagStat;
+import com.taleforge.dto.TagCountDTO;
+
+import jakarta.persistence.QueryHint;
+
+@Repository
+public interface TagStatRepository extends JpaRepository<TagStat, String> {
+    @Query("SELECT new com.taleforge.dto.TagCountDTO(t.tag, t.storyCount) FROM TagStat t "
+            + "WHERE t.storyCount > 0 ORDER BY t.storyCount DESC, t.tag")
+    List<TagCountDTO> findTopTags(Pageable pageable);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "tag_stats"))
+    @Query(value = "INSERT INTO tag_stats (tag, story_count) VALUES (:tag, 0) ON CONFLICT DO NOTHING",
+            nativeQuery = true)
+    int insertIfAbsent(String tag);
+
+    @Modifying
+    @Query("UPDATE TagStat t SET t.storyCount = t.storyCount + :delta WHERE t.tag IN :tags")
+    int adjust(Collection<String> tags, int delta);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "tag_stats"))
+    @Query(value = "INSERT INTO tag_stats (tag, story_count) "
+            + "SELECT st.tag, COUNT(*) FROM story_tags st JOIN stories s ON s.id = st.story_id "
+            + "WHERE s.published = true GROUP BY st.tag", nativeQuery = true)
+    int insertPublishedCounts();
+}
@@ -0,0 +1,62 @@
+package com.taleforge.security;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import com.taleforge.domain.User;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Security principal that carries the user's database id, so services can key
+ * writes on it without looking the user up by username again.
+ */
+@Getter
+@RequiredArgsConstructor
+public class AuthenticatedUser implements UserDetails {
+    private static final String DEFAULT_ROLE = "ROLE_USER";
+
+    private final Long id;
+    private final String username;
+    private final String password;
+    private final Collection<? extends GrantedAuthority> authorities;
+    private final boolean enabled;
+    private final boolean accountNonExpired;
+    private final boolean accountNonLocked;
+    private final boolean credentialsNonExpired;
+
+    public static AuthenticatedUser fromUser(User user) {
+        return new AuthenticatedUser(
+                user.getId(),
+                user.getUsername(),
+                user.getPassword(),
+                toAuthorities(user.getRoles()),
+                user.isEnabled(),
+                user.isAccountNonExpired(),
+                user.isAccountNonLocked(),
+                user.isCredentialsNonExpired());
+    }
+
+    /**
+     * Principal rebuilt from signed token claims. It has no password and is
+     * only as fresh as the token it came from.
+     */
+    public static AuthenticatedUser fromClaims(Long id, String username, Collection<String> roles) {
+        return new AuthenticatedUser(id, username, null, toAuthorities(roles), true, true, true, true);
+    }
+
+    public List<String> getRoles() {
+        return authorities.stream().map(GrantedAuthority::getAuthority).toList();
+    }
+
+    private static List<SimpleGrantedAuthority> toAuthorities(Collection<String> roles) {
+        Collection<String> effective = roles == null || roles.isEmpty() ? Set.of(DEFAULT_ROLE) : roles;
+        return effective.stream().map(SimpleGrantedAuthority::new).toList();
+    }
+}
@@ -1,8 +1,13 @@
 package com.taleforge.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.taleforge.domain.User;
 import com.taleforge.repository.UserRepository;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -10,15 +15,28 @@ import org.springframework.stereotype.Service;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.Collections;
+import java.time.Duration;
 
 @Service
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, MeterBinder {
     private static final Logger log = LoggerFactory.getLogger(CustomUserDetailsService.class);
     private final UserRepository userRepository;
+    private final Cache<String, UserDetails> userDetailsCache;
 
-    public CustomUserDetailsService(UserRepository userRepository) {
+    public CustomUserDetailsService(UserRepository userRepository,
+            @Value("${security.user-cache.max-size:1000}") long cacheMaxSize,
+            @Value("${security.user-cache.ttl:PT5M}") Duration cacheTtl) {
         this.userRepository = userRepository;
+        this.userDetailsCache = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfterWrite(cacheTtl)
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, userDetailsCache, "user-details");
     }
 
     @Override
@@ -37,10 +55,26 @@ public class CustomUserDetailsService implements UserDetailsService {
 
         log.debug("User found: {}", user.getUsername());
         
-        return org.springframework.security.core.userdetails.User
-                .withUsername(user.getUsername())
-                .password(user.getPassword())
-                .authorities(Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER")))
-                .build();
+        return AuthenticatedUser.fromUser(user);
+    }
+
+    /**
+     * Same as {@link #loadUserByUsername(String)} but served from a short-lived
+     * bounded cache. Only for callers that need account state the token does
+     * not carry; login always goes to the database.
+     */
+    public UserDetails loadCachedUserByUsername(String username) throws UsernameNotFoundException {
+        // Loaded outside the cache's compute lock so the query never pins a virtual thread
+        UserDetails cached = userDetailsCache.getIfPresent(username);
+        if (cached != null) {
+            return cached;
+        }
+        UserDetails loaded = loadUserByUsername(username);
+        userDetailsCache.put(username, loaded);
+        return loaded;
+    }
+
+    public void evictUser(String username) {
+        userDetailsCache.invalidate(username);
     }
-} 
\ No newline at end of file
+}
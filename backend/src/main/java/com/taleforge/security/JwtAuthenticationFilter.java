@@ -1,6 +1,7 @@
 package com.taleforge.security;
 
 import java.io.IOException;
+import java.util.Optional;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -8,14 +9,13 @@ import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
-import com.taleforge.domain.User;
-import com.taleforge.service.UserService;
+import com.taleforge.timing.RequestTiming;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -28,8 +28,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private static final Logger logger = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
     private final JwtService jwtService;
-    private final UserDetailsService userDetailsService;
-    private final UserService userService;
+    private final CustomUserDetailsService userDetailsService;
 
     @Override
     protected boolean shouldNotFilter(HttpServletRequest request) {
@@ -38,11 +37,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         logger.debug("Checking path: {} with method: {}", path, method);
 
+        // Public reads still pass through so signed-in callers get their liked flags;
+        // authenticating from token claims costs no database round trip.
         boolean shouldNotFilter = path.startsWith("/auth/") ||
                 path.startsWith("/h2-console/") ||
-                (path.startsWith("/stories/") && method.equals("GET")) ||
-                (path.startsWith("/likes/") && method.equals("GET")) ||
-                (path.startsWith("/comments/story/") && method.equals("GET"));
+                (path.startsWith("/stories/") && path.endsWith("/view") && method.equals("POST"));
 
         logger.debug("Should not filter: {}", shouldNotFilter);
         return shouldNotFilter;
@@ -53,6 +52,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             @NonNull HttpServletRequest request,
             @NonNull HttpServletResponse response,
             @NonNull FilterChain filterChain) throws ServletException, IOException {
+        long started = System.nanoTime();
         try {
             final String authHeader = request.getHeader("Authorization");
             logger.debug("Authorization header: {}", authHeader);
@@ -66,35 +66,52 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             }
 
             final String jwt = authHeader.substring(7);
-            final String username = jwtService.extractUsername(jwt);
-            logger.debug("Extracted username: {}", username);
-
-            if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
-                logger.debug("Loaded user details for username: {}", username);
-
-                if (jwtService.isTokenValid(jwt, userDetails)) {
-                    User user = userService.getUserByUsername(username)
-                            .orElseThrow(() -> new RuntimeException("User not found"));
-
-                    UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                            userDetails,
-                            null,
-                            userDetails.getAuthorities());
-                    authToken.setDetails(
-                            new WebAuthenticationDetailsSource().buildDetails(request));
-
-                    SecurityContextHolder.getContext().setAuthentication(authToken);
-                    request.setAttribute("user", user);
-                    logger.debug("Authentication successful for user: {}", username);
-                } else {
-                    logger.debug("Token validation failed for user: {}", username);
+            final Optional<Claims> claims = jwtService.validateToken(jwt);
+            if (claims.isEmpty()) {
+                logger.debug("Token validation failed");
+            } else if (SecurityContextHolder.getContext().getAuthentication() == null) {
+                UserDetails userDetails = principal(request, claims.get());
+                if (!isActive(userDetails)) {
+                    logger.debug("Account {} is disabled or locked", userDetails.getUsername());
+                    RequestTiming.authentication(System.nanoTime() - started);
+                    filterChain.doFilter(request, response);
+                    return;
                 }
+
+                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                        userDetails,
+                        null,
+                        userDetails.getAuthorities());
+                authToken.setDetails(
+                        new WebAuthenticationDetailsSource().buildDetails(request));
+
+                SecurityContextHolder.getContext().setAuthentication(authToken);
+                logger.debug("Authentication successful for user: {}", userDetails.getUsername());
             }
         } catch (Exception e) {
             logger.error("Error processing JWT token", e);
         }
+        RequestTiming.authentication(System.nanoTime() - started);
 
         filterChain.doFilter(request, response);
     }
+
+    /**
+     * Admin rights are checked against the account as it is now, since a token
+     * keeps its claims after the account is disabled or demoted. Other requests
+     * trust the claims, or the cached account for older tokens.
+     */
+    private UserDetails principal(HttpServletRequest request, Claims claims) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (path.startsWith("/admin/")) {
+            return userDetailsService.loadUserByUsername(claims.getSubject());
+        }
+        return jwtService.toPrincipal(claims)
+                .map(UserDetails.class::cast)
+                .orElseGet(() -> userDetailsService.loadCachedUserByUsername(claims.getSubject()));
+    }
+
+    private static boolean isActive(UserDetails userDetails) {
+        return userDetails.isEnabled() && userDetails.isAccountNonLocked() && userDetails.isAccountNonExpired();
+    }
 }
\ No newline at end of file
@@ -1,28 +1,45 @@
 package com.taleforge.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.UnsupportedJwtException;
 import io.jsonwebtoken.security.Keys;
 import io.jsonwebtoken.security.SignatureException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 @Service
-public class JwtService {
+public class JwtService implements MeterBinder {
     private static final Logger logger = LoggerFactory.getLogger(JwtService.class);
+    static final String CLAIM_USER_ID = "uid";
+    static final String CLAIM_ROLES = "roles";
 
     @Value("${jwt.secret}")
     private String secretKey;
@@ -30,27 +47,115 @@ public class JwtService {
     @Value("${jwt.expiration}")
     private long jwtExpiration;
 
-    public String extractUsername(String token) {
+    @Value("${jwt.cache.max-size:10000}")
+    private long cacheMaxSize;
+
+    private Key signingKey;
+    private JwtParser parser;
+    private Cache<String, Claims> verifiedTokens;
+
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(secretKey.getBytes());
+        parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+        verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfter(new Expiry<String, Claims>() {
+                    @Override
+                    public long expireAfterCreate(String key, Claims claims, long currentTime) {
+                        long remainingMs = claims.getExpiration().getTime() - System.currentTimeMillis();
+                        return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMs, 0));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, verifiedTokens, "verified-tokens");
+    }
+
+    /**
+     * Verifies the token's signature and expiry once and returns its claims.
+     * Tokens that verified recently are answered from a bounded cache keyed by
+     * their SHA-256 digest until they expire.
+     */
+    public Optional<Claims> validateToken(String token) {
+        if (token == null || token.isEmpty()) {
+            return Optional.empty();
+        }
+
+        String digest = digest(token);
+        Claims cached = verifiedTokens.getIfPresent(digest);
+        if (cached != null) {
+            if (!isExpired(cached)) {
+                return Optional.of(cached);
+            }
+            verifiedTokens.invalidate(digest);
+            return Optional.empty();
+        }
+
         try {
-            return extractClaim(token, Claims::getSubject);
+            Claims claims = extractAllClaims(token);
+            if (claims.getExpiration() == null || isExpired(claims)) {
+                return Optional.empty();
+            }
+            verifiedTokens.put(digest, claims);
+            return Optional.of(claims);
+        } catch (ExpiredJwtException e) {
+            logger.warn("Token validation failed: token expired");
+        } catch (SignatureException e) {
+            logger.warn("Token validation failed: invalid signature");
+        } catch (MalformedJwtException e) {
+            logger.warn("Token validation failed: malformed token");
+        } catch (UnsupportedJwtException e) {
+            logger.warn("Token validation failed: unsupported token");
         } catch (Exception e) {
-            logger.error("Error extracting username from token", e);
-            return null;
+            logger.error("Token validation failed: unexpected error", e);
         }
+        return Optional.empty();
+    }
+
+    public String extractUsername(String token) {
+        return validateToken(token).map(Claims::getSubject).orElse(null);
     }
 
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        try {
-            final Claims claims = extractAllClaims(token);
-            return claimsResolver.apply(claims);
-        } catch (Exception e) {
-            logger.error("Error extracting claim from token", e);
-            throw e;
-        }
+        return validateToken(token).map(claimsResolver).orElse(null);
     }
 
     public String generateToken(UserDetails userDetails) {
-        return generateToken(new HashMap<>(), userDetails);
+        Map<String, Object> claims = new HashMap<>();
+        if (userDetails instanceof AuthenticatedUser user) {
+            claims.put(CLAIM_USER_ID, user.getId());
+            claims.put(CLAIM_ROLES, user.getRoles());
+        }
+        return generateToken(claims, userDetails);
+    }
+
+    /**
+     * Builds the principal straight from signed claims. Empty for tokens issued
+     * before the user id and roles were embedded.
+     */
+    public Optional<AuthenticatedUser> toPrincipal(Claims claims) {
+        Long userId = claims.get(CLAIM_USER_ID, Long.class);
+        if (userId == null || claims.getSubject() == null) {
+            return Optional.empty();
+        }
+        @SuppressWarnings("unchecked")
+        List<String> roles = claims.get(CLAIM_ROLES, List.class);
+        return Optional.of(AuthenticatedUser.fromClaims(userId, claims.getSubject(), roles));
     }
 
     public String generateToken(Map<String, Object> extraClaims, UserDetails userDetails) {
@@ -61,7 +166,7 @@ public class JwtService {
                     .setSubject(userDetails.getUsername())
                     .setIssuedAt(new Date(System.currentTimeMillis()))
                     .setExpiration(new Date(System.currentTimeMillis() + jwtExpiration))
-                    .signWith(getSignInKey(), SignatureAlgorithm.HS256)
+                    .signWith(signingKey, SignatureAlgorithm.HS256)
                     .compact();
         } catch (Exception e) {
             logger.error("Error generating token for user: {}", userDetails.getUsername(), e);
@@ -70,81 +175,31 @@ public class JwtService {
     }
 
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        try {
-            final String username = extractUsername(token);
-            if (username == null) {
-                logger.warn("Token validation failed: username is null");
-                return false;
-            }
-            boolean isValid = username.equals(userDetails.getUsername()) && !isTokenExpired(token);
-            if (!isValid) {
-                logger.warn("Token validation failed for user: {}", username);
-            }
-            return isValid;
-        } catch (ExpiredJwtException e) {
-            logger.warn("Token validation failed: token expired");
-            return false;
-        } catch (SignatureException e) {
-            logger.warn("Token validation failed: invalid signature");
-            return false;
-        } catch (MalformedJwtException e) {
-            logger.warn("Token validation failed: malformed token");
-            return false;
-        } catch (UnsupportedJwtException e) {
-            logger.warn("Token validation failed: unsupported token");
-            return false;
-        } catch (Exception e) {
-            logger.error("Token validation failed: unexpected error", e);
+        Optional<Claims> claims = validateToken(token);
+        if (claims.isEmpty()) {
             return false;
         }
-    }
-
-    private boolean isTokenExpired(String token) {
-        try {
-            return extractExpiration(token).before(new Date());
-        } catch (Exception e) {
-            logger.error("Error checking token expiration", e);
-            return true;
+        boolean isValid = userDetails.getUsername().equals(claims.get().getSubject());
+        if (!isValid) {
+            logger.warn("Token validation failed for user: {}", claims.get().getSubject());
         }
+        return isValid;
     }
 
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    private boolean isExpired(Claims claims) {
+        return claims.getExpiration().before(new Date());
     }
 
     private Claims extractAllClaims(String token) {
-        try {
-            return Jwts
-                    .parserBuilder()
-                    .setSigningKey(getSignInKey())
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
-        } catch (ExpiredJwtException e) {
-            logger.warn("Token expired: {}", token);
-            throw e;
-        } catch (SignatureException e) {
-            logger.warn("Invalid token signature: {}", token);
-            throw e;
-        } catch (MalformedJwtException e) {
-            logger.warn("Malformed token: {}", token);
-            throw e;
-        } catch (UnsupportedJwtException e) {
-            logger.warn("Unsupported token: {}", token);
-            throw e;
-        } catch (Exception e) {
-            logger.error("Error extracting claims from token", e);
-            throw e;
-        }
+        return parser.parseClaimsJws(token).getBody();
     }
 
-    private Key getSignInKey() {
+    private static String digest(String token) {
         try {
-            byte[] keyBytes = secretKey.getBytes();
-            return Keys.hmacShaKeyFor(keyBytes);
-        } catch (Exception e) {
-            logger.error("Error generating signing key", e);
-            throw e;
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
         }
     }
-} 
\ No newline at end of file
+}
@@ -1,10 +1,10 @@
 package com.taleforge.service;
 
 import com.taleforge.domain.User;
+import com.taleforge.security.AuthenticatedUser;
 import com.taleforge.security.JwtService;
+import io.jsonwebtoken.Claims;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
@@ -13,13 +13,11 @@ public class AuthService {
     private final UserService userService;
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
-    private final UserDetailsService userDetailsService;
 
-    public AuthService(UserService userService, PasswordEncoder passwordEncoder, JwtService jwtService, UserDetailsService userDetailsService) {
+    public AuthService(UserService userService, PasswordEncoder passwordEncoder, JwtService jwtService) {
         this.userService = userService;
         this.passwordEncoder = passwordEncoder;
         this.jwtService = jwtService;
-        this.userDetailsService = userDetailsService;
     }
 
     public User authenticate(String email, String password) {
@@ -34,16 +32,13 @@ public class AuthService {
     }
 
     public String generateToken(User user) {
-        UserDetails userDetails = userDetailsService.loadUserByUsername(user.getUsername());
-        return jwtService.generateToken(userDetails);
+        return jwtService.generateToken(AuthenticatedUser.fromUser(user));
     }
 
     public User validateToken(String token) {
-        String username = jwtService.extractUsername(token);
-        UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-        if (!jwtService.isTokenValid(token, userDetails)) {
-            throw new RuntimeException("Invalid token");
-        }
+        String username = jwtService.validateToken(token)
+                .map(Claims::getSubject)
+                .orElseThrow(() -> new RuntimeException("Invalid token"));
         return userService.getUserByUsername(username)
                 .orElseThrow(() -> new RuntimeException("User not found"));
     }
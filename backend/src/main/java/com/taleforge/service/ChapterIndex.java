@@ -0,0 +1,83 @@
+package com.taleforge.service;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.taleforge.dto.ChapterSummaryDTO;
+import com.taleforge.event.ChapterChangedEvent;
+import com.taleforge.event.StoryChangedEvent;
+import com.taleforge.repository.ChapterRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Table of contents of each story that has been read recently: chapter ids,
+ * numbers and titles, never text. Opening a chapter takes its position and its
+ * neighbours from here and only reads its own body. Each entry carries the
+ * {@link ContentVersions} tag read before it was loaded and is only served
+ * while that tag is current, so a list built while a chapter write committed
+ * is never served for the newer version.
+ */
+@Service
+public class ChapterIndex implements MeterBinder {
+    private final ChapterRepository chapterRepository;
+    private final ContentVersions contentVersions;
+    private final Cache<Long, Entry> stories;
+
+    private record Entry(String version, List<ChapterSummaryDTO> chapters) {
+    }
+
+    public ChapterIndex(ChapterRepository chapterRepository, ContentVersions contentVersions,
+            @Value("${chapter-index.max-stories:10000}") long maxStories) {
+        this.chapterRepository = chapterRepository;
+        this.contentVersions = contentVersions;
+        this.stories = Caffeine.newBuilder()
+                .maximumSize(maxStories)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * The story's chapters in reading order; chapter {@code n} is at index
+     * {@code n - 1}.
+     */
+    public List<ChapterSummaryDTO> chapters(Long storyId) {
+        ContentVersions.Validator version = contentVersions.chapters(storyId);
+        Entry entry = stories.getIfPresent(storyId);
+        if (entry == null || !entry.version().equals(version.etag())) {
+            // Not loaded inside the cache's compute, which would hold a map lock across the query
+            entry = new Entry(version.etag(), contentVersions.load(version,
+                    () -> List.copyOf(chapterRepository.findSummariesByStoryId(storyId))));
+            stories.put(storyId, entry);
+        }
+        return entry.chapters();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, stories, "chapter-index");
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChapterChanged(ChapterChangedEvent event) {
+        evict(event.storyId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStoryChanged(StoryChangedEvent event) {
+        if (event.type() == StoryChangedEvent.Type.DELETED) {
+            evict(event.storyId());
+        }
+    }
+
+    private void evict(Long storyId) {
+        stories.invalidate(storyId);
+    }
+}
@@ -0,0 +1,154 @@
+package com.taleforge.service;
+
+import java.util.List;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.taleforge.domain.Chapter;
+import com.taleforge.domain.ChapterBody;
+import com.taleforge.dto.ChapterDTO;
+import com.taleforge.dto.ChapterSummaryDTO;
+import com.taleforge.event.ChapterChangedEvent;
+import com.taleforge.exception.BadRequestException;
+import com.taleforge.exception.ResourceNotFoundException;
+import com.taleforge.repository.ChapterBodyRepository;
+import com.taleforge.repository.ChapterRepository;
+import com.taleforge.repository.StoryRepository;
+
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+
+@Service
+@RequiredArgsConstructor
+public class ChapterService {
+    private static final int MAX_TITLE_LENGTH = 255;
+
+    private final ChapterRepository chapterRepository;
+    private final ChapterBodyRepository chapterBodyRepository;
+    private final StoryRepository storyRepository;
+    private final ChapterIndex chapterIndex;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Transactional(readOnly = true)
+    public List<ChapterSummaryDTO> getChapters(Long storyId) {
+        List<ChapterSummaryDTO> chapters = chapterIndex.chapters(storyId);
+        if (chapters.isEmpty() && !storyRepository.existsById(storyId)) {
+            throw new ResourceNotFoundException("Story not found with id: " + storyId);
+        }
+        return chapters;
+    }
+
+    @Transactional(readOnly = true)
+    public ChapterDTO getChapter(Long storyId, int number) {
+        List<ChapterSummaryDTO> chapters = chapterIndex.chapters(storyId);
+        String notFound = "Chapter " + number + " not found in story " + storyId;
+        if (number < 1 || number > chapters.size()) {
+            throw new ResourceNotFoundException(notFound);
+        }
+        ChapterSummaryDTO chapter = chapters.get(number - 1);
+        String content = chapterBodyRepository.findContent(chapter.getId())
+                .orElseThrow(() -> new ResourceNotFoundException(notFound));
+
+        ChapterDTO dto = new ChapterDTO();
+        dto.setId(chapter.getId());
+        dto.setStoryId(storyId);
+        dto.setNumber(chapter.getNumber());
+        dto.setTitle(chapter.getTitle());
+        dto.setContent(content);
+        dto.setWordCount(chapter.getWordCount());
+        dto.setChapterCount(chapters.size());
+        dto.setPrevious(number > 1 ? chapters.get(number - 2) : null);
+        dto.setNext(number < chapters.size() ? chapters.get(number) : null);
+        dto.setCreatedAt(chapter.getCreatedAt());
+        dto.setUpdatedAt(chapter.getUpdatedAt());
+        return dto;
+    }
+
+    @Transactional
+    public ChapterSummaryDTO addChapter(Long storyId, String title, String content, String username) {
+        checkAuthor(storyId, username, "add chapters to");
+        validate(title, content);
+
+        // Locks the story row first, so concurrent appends take consecutive numbers
+        storyRepository.adjustChaptersCount(storyId, 1);
+        Chapter chapter = chapterRepository.save(Chapter.builder()
+                .story(storyRepository.getReferenceById(storyId))
+                .number(chapterRepository.findLastNumber(storyId) + 1)
+                .title(title.trim())
+                .wordCount(wordCount(content))
+                .build());
+        chapterBodyRepository.save(new ChapterBody(chapter, content));
+        eventPublisher.publishEvent(new ChapterChangedEvent(storyId, chapter.getId()));
+        return toSummary(chapter);
+    }
+
+    @Transactional
+    public ChapterSummaryDTO updateChapter(Long storyId, int number, String title, String content,
+            String username) {
+        checkAuthor(storyId, username, "edit chapters of");
+        validate(title, content);
+
+        Chapter chapter = findChapter(storyId, number);
+        chapter.setTitle(title.trim());
+        chapter.setWordCount(wordCount(content));
+        Chapter savedChapter = chapterRepository.save(chapter);
+        chapterBodyRepository.updateContent(chapter.getId(), content);
+        eventPublisher.publishEvent(new ChapterChangedEvent(storyId, chapter.getId()));
+        return toSummary(savedChapter);
+    }
+
+    @Transactional
+    public void deleteChapter(Long storyId, int number, String username) {
+        checkAuthor(storyId, username, "delete chapters of");
+
+        storyRepository.adjustChaptersCount(storyId, -1);
+        Chapter chapter = findChapter(storyId, number);
+        chapterBodyRepository.deleteByChapterId(chapter.getId());
+        chapterRepository.delete(chapter);
+        chapterRepository.closeGap(storyId, number);
+        eventPublisher.publishEvent(new ChapterChangedEvent(storyId, chapter.getId()));
+    }
+
+    private Chapter findChapter(Long storyId, int number) {
+        return chapterRepository.findByStoryIdAndNumber(storyId, number)
+                .orElseThrow(() -> new EntityNotFoundException("Chapter " + number + " not found in story " + storyId));
+    }
+
+    private void checkAuthor(Long storyId, String username, String action) {
+        String author = storyRepository.findAuthorUsername(storyId)
+                .orElseThrow(() -> new EntityNotFoundException("Story not found with id: " + storyId));
+        if (!author.equals(username)) {
+            throw new IllegalStateException("User is not authorized to " + action + " this story");
+        }
+    }
+
+    private static void validate(String title, String content) {
+        if (title == null || title.isBlank() || title.trim().length() > MAX_TITLE_LENGTH) {
+            throw new BadRequestException("Chapter title must be between 1 and " + MAX_TITLE_LENGTH + " characters");
+        }
+        if (content == null || content.isBlank() || content.length() > ChapterBody.MAX_LENGTH) {
+            throw new BadRequestException("Chapter content must be between 1 and " + ChapterBody.MAX_LENGTH
+                    + " characters");
+        }
+    }
+
+    static int wordCount(String content) {
+        int words = 0;
+        boolean inWord = false;
+        for (int i = 0; i < content.length(); i++) {
+            boolean whitespace = Character.isWhitespace(content.charAt(i));
+            if (!whitespace && !inWord) {
+                words++;
+            }
+            inWord = !whitespace;
+        }
+        return words;
+    }
+
+    private static ChapterSummaryDTO toSummary(Chapter chapter) {
+        return new ChapterSummaryDTO(chapter.getId(), chapter.getNumber(), chapter.getTitle(),
+                chapter.getWordCount(), chapter.getCreatedAt(), chapter.getUpdatedAt());
+    }
+}
@@ -0,0 +1,52 @@
+package com.taleforge.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import com.taleforge.domain.Comment;
+import com.taleforge.exception.BadRequestException;
+import com.taleforge.repository.CommentSort;
+
+/**
+ * Opaque keyset position in a comment thread: the sort it belongs to plus the
+ * sort value and id of the last comment the client has seen.
+ */
+record CommentCursor(CommentSort sort, Object lastValue, Long lastId) {
+
+    static CommentCursor after(CommentSort sort, Comment last) {
+        Object value = switch (sort.getProperty()) {
+            case "createdAt" -> last.getCreatedAt();
+            case "likeCount" -> last.getLikeCount();
+            default -> throw new IllegalStateException("Unsupported cursor sort: " + sort);
+        };
+        return new CommentCursor(sort, value, last.getId());
+    }
+
+    static CommentCursor decode(String cursor, CommentSort expectedSort) {
+        if (cursor == null || cursor.isEmpty()) {
+            return new CommentCursor(expectedSort, null, null);
+        }
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|", 3);
+            CommentSort sort = CommentSort.valueOf(parts[0]);
+            if (sort != expectedSort) {
+                throw new BadRequestException("Cursor was issued for sort '" + sort.getKey() + "'");
+            }
+            Object value = switch (sort.getProperty()) {
+                case "createdAt" -> LocalDateTime.parse(parts[1]);
+                default -> Integer.valueOf(parts[1]);
+            };
+            return new CommentCursor(sort, value, Long.valueOf(parts[2]));
+        } catch (BadRequestException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+
+    String encode() {
+        String raw = sort.name() + "|" + lastValue + "|" + lastId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
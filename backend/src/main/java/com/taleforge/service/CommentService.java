@@ -1,16 +1,23 @@
 package com.taleforge.service;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.taleforge.domain.Comment;
 import com.taleforge.domain.CommentLike;
-import com.taleforge.domain.Story;
-import com.taleforge.domain.User;
+import com.taleforge.dto.CommentDTO;
+import com.taleforge.dto.CommentPageDTO;
+import com.taleforge.event.CommentChangedEvent;
+import com.taleforge.event.StoryStatsChangedEvent;
+import com.taleforge.exception.ResourceNotFoundException;
 import com.taleforge.repository.CommentLikeRepository;
 import com.taleforge.repository.CommentRepository;
+import com.taleforge.repository.CommentSort;
 import com.taleforge.repository.StoryRepository;
 import com.taleforge.repository.UserRepository;
 
@@ -20,150 +27,138 @@ import lombok.RequiredArgsConstructor;
 @Service
 @RequiredArgsConstructor
 public class CommentService {
+    private static final int MAX_THREAD_PAGE_SIZE = 100;
+
     private final CommentRepository commentRepository;
     private final StoryRepository storyRepository;
     private final UserRepository userRepository;
     private final CommentLikeRepository commentLikeRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional(readOnly = true)
-    public List<Comment> getCommentsByStoryId(Long storyId, String username) {
-        List<Comment> comments = commentRepository.findByStoryIdOrderByCreatedAtDesc(storyId);
-
-        // Get current user if logged in
-        final User currentUser = username != null ? userRepository.findByUsername(username).orElse(null) : null;
-
-        // Initialize the lazy-loaded relationships and set liked status
-        comments.forEach(comment -> {
-            comment.getAuthor().getUsername();
-            comment.getStory().getId();
-            comment.getLikes().size(); // Initialize likes
-
-            // Set liked status if user is logged in
-            if (currentUser != null) {
-                comment.setLiked(commentLikeRepository.existsByUserAndComment(currentUser, comment));
-            }
-        });
-
-        return comments;
+    public CommentPageDTO getCommentThread(Long storyId, Long userId, String sort, String cursor, int size) {
+        int total = storyRepository.findCommentsCount(storyId)
+                .orElseThrow(() -> new ResourceNotFoundException("Story not found with id: " + storyId));
+        int limit = Math.max(1, Math.min(size, MAX_THREAD_PAGE_SIZE));
+        CommentSort commentSort = CommentSort.from(sort);
+        CommentCursor position = CommentCursor.decode(cursor, commentSort);
+
+        List<Comment> rows = commentRepository.findThreadAfter(
+                storyId, commentSort, position.lastValue(), position.lastId(), limit + 1);
+
+        boolean hasMore = rows.size() > limit;
+        List<Comment> comments = hasMore ? rows.subList(0, limit) : rows;
+        Set<Long> likedIds = userId != null && !comments.isEmpty()
+                ? commentLikeRepository.findLikedCommentIds(userId, comments.stream().map(Comment::getId).toList())
+                : Collections.emptySet();
+        comments.forEach(comment -> comment.setLiked(likedIds.contains(comment.getId())));
+
+        String nextCursor = hasMore
+                ? CommentCursor.after(commentSort, comments.get(comments.size() - 1)).encode()
+                : null;
+        return new CommentPageDTO(comments.stream().map(CommentDTO::fromEntity).toList(), nextCursor, hasMore, total);
     }
 
     @Transactional
-    public Comment createComment(Long storyId, String username, String content) {
-        Story story = storyRepository.findById(storyId)
-                .orElseThrow(() -> new EntityNotFoundException("Story not found"));
-        User author = userRepository.findByUsername(username)
-                .orElseThrow(() -> new EntityNotFoundException("User not found"));
+    public Comment createComment(Long storyId, Long userId, String content) {
+        if (storyRepository.adjustCommentsCount(storyId, 1) == 0) {
+            throw new EntityNotFoundException("Story not found");
+        }
 
         Comment comment = new Comment();
         comment.setContent(content);
-        comment.setStory(story);
-        comment.setAuthor(author);
+        comment.setStory(storyRepository.getReferenceById(storyId));
+        comment.setAuthor(userRepository.getReferenceById(userId));
 
         Comment savedComment = commentRepository.save(comment);
+        eventPublisher.publishEvent(StoryStatsChangedEvent.comments(storyId, 1));
+        eventPublisher.publishEvent(new CommentChangedEvent(storyId, savedComment.getId()));
 
         // Initialize lazy-loaded relationships
         savedComment.getAuthor().getUsername();
-        savedComment.getStory().getId();
-        savedComment.getLikes().size();
 
         return savedComment;
     }
 
     @Transactional
-    public Comment updateComment(Long commentId, String username, String content) {
+    public Comment updateComment(Long commentId, Long userId, String content) {
         Comment comment = commentRepository.findById(commentId)
                 .orElseThrow(() -> new EntityNotFoundException("Comment not found"));
 
-        User author = userRepository.findByUsername(username)
-                .orElseThrow(() -> new EntityNotFoundException("User not found"));
-
-        if (!comment.getAuthor().getId().equals(author.getId())) {
+        if (!comment.getAuthor().getId().equals(userId)) {
             throw new IllegalStateException("User is not authorized to edit this comment");
         }
 
         comment.setContent(content);
         comment.setEdited(true);
         Comment savedComment = commentRepository.save(comment);
+        eventPublisher.publishEvent(new CommentChangedEvent(savedComment.getStory().getId(), commentId));
 
         // Initialize lazy-loaded relationships
         savedComment.getAuthor().getUsername();
-        savedComment.getStory().getId();
-        savedComment.getLikes().size();
+        savedComment.setLiked(commentLikeRepository.existsById(new CommentLike.CommentLikeId(userId, commentId)));
 
         return savedComment;
     }
 
     @Transactional
-    public void deleteComment(Long commentId, String username) {
+    public void deleteComment(Long commentId, Long userId) {
         Comment comment = commentRepository.findById(commentId)
                 .orElseThrow(() -> new EntityNotFoundException("Comment not found"));
 
-        User author = userRepository.findByUsername(username)
-                .orElseThrow(() -> new EntityNotFoundException("User not found"));
-
-        if (!comment.getAuthor().getId().equals(author.getId())) {
+        if (!comment.getAuthor().getId().equals(userId)) {
             throw new IllegalStateException("User is not authorized to delete this comment");
         }
 
         commentRepository.delete(comment);
+        storyRepository.adjustCommentsCount(comment.getStory().getId(), -1);
+        eventPublisher.publishEvent(StoryStatsChangedEvent.comments(comment.getStory().getId(), -1));
+        eventPublisher.publishEvent(new CommentChangedEvent(comment.getStory().getId(), commentId));
     }
 
+    // The like is written before the comment is loaded, so the count read with it is the updated one
     @Transactional
-    public Comment likeComment(Long commentId, String username) {
+    public Comment likeComment(Long commentId, Long userId) {
+        boolean liked = commentLikeRepository.insertIfAbsent(userId, commentId) == 1;
+        if (liked) {
+            commentRepository.adjustLikeCount(commentId, 1);
+        }
+
         Comment comment = commentRepository.findById(commentId)
                 .orElseThrow(() -> new EntityNotFoundException("Comment not found"));
-
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new EntityNotFoundException("User not found"));
-
-        if (comment.getAuthor().getId().equals(user.getId())) {
+        if (comment.getAuthor().getId().equals(userId)) {
             throw new IllegalStateException("Cannot like your own comment");
         }
-
-        if (!commentLikeRepository.existsByUserAndComment(user, comment)) {
-            CommentLike like = CommentLike.builder()
-                    .id(new CommentLike.CommentLikeId(user.getId(), commentId))
-                    .user(user)
-                    .comment(comment)
-                    .build();
-            commentLikeRepository.save(like);
-            comment.getLikes().add(like);
+        if (liked) {
+            eventPublisher.publishEvent(new CommentChangedEvent(comment.getStory().getId(), commentId));
         }
 
-        Comment savedComment = commentRepository.save(comment);
-
-        // Initialize lazy-loaded relationships
-        savedComment.getAuthor().getUsername();
-        savedComment.getStory().getId();
-        savedComment.getLikes().size();
-
-        return savedComment;
+        return withLikeState(comment, true);
     }
 
     @Transactional
-    public Comment unlikeComment(Long commentId, String username) {
+    public Comment unlikeComment(Long commentId, Long userId) {
+        boolean unliked = commentLikeRepository.deleteByUserIdAndCommentId(userId, commentId) > 0;
+        if (unliked) {
+            commentRepository.adjustLikeCount(commentId, -1);
+        }
+
         Comment comment = commentRepository.findById(commentId)
                 .orElseThrow(() -> new EntityNotFoundException("Comment not found"));
-
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new EntityNotFoundException("User not found"));
-
-        if (comment.getAuthor().getId().equals(user.getId())) {
+        if (comment.getAuthor().getId().equals(userId)) {
             throw new IllegalStateException("Cannot unlike your own comment");
         }
+        if (unliked) {
+            eventPublisher.publishEvent(new CommentChangedEvent(comment.getStory().getId(), commentId));
+        }
 
-        commentLikeRepository.findByUserAndComment(user, comment).ifPresent(like -> {
-            commentLikeRepository.delete(like);
-            comment.getLikes().remove(like);
-        });
-
-        Comment savedComment = commentRepository.save(comment);
+        return withLikeState(comment, false);
+    }
 
+    private Comment withLikeState(Comment comment, boolean liked) {
         // Initialize lazy-loaded relationships
-        savedComment.getAuthor().getUsername();
-        savedComment.getStory().getId();
-        savedComment.getLikes().size();
-
-        return savedComment;
+        comment.getAuthor().getUsername();
+        comment.setLiked(liked);
+        return comment;
     }
 }
\ No newline at end of file
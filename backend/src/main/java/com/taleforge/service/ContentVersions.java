@@ -0,0 +1,158 @@
+package com.taleforge.service;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.taleforge.datasource.PrimaryReads;
+import com.taleforge.event.ChapterChangedEvent;
+import com.taleforge.event.CommentChangedEvent;
+import com.taleforge.event.StoryChangedEvent;
+import com.taleforge.event.StoryStatsChangedEvent;
+
+/**
+ * Change counters behind the HTTP validators of the read endpoints. Every
+ * committed write bumps the versions of the representations it affects, so a
+ * conditional GET can be answered with {@code 304} before any query runs.
+ * Versions live in this process and restart with it: the boot epoch is part of
+ * every ETag, which keeps a restarted node from confirming a stale copy.
+ * <p>
+ * View flushes touch most listed stories every few seconds, so view counts
+ * alone do not move the feed version right away: they are folded into one bump
+ * every {@code content-versions.view-feed-interval-ms}. Likes and comments
+ * still bump it on commit.
+ */
+@Service
+public class ContentVersions {
+    private static final Version INITIAL = new Version(0, System.currentTimeMillis());
+
+    private final String epoch = Long.toString(INITIAL.at(), Character.MAX_RADIX);
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<Long, Version> stories = new ConcurrentHashMap<>();
+    private final Map<Long, Version> comments = new ConcurrentHashMap<>();
+    private final Map<Long, Version> chapters = new ConcurrentHashMap<>();
+    private final AtomicBoolean feedViewsChanged = new AtomicBoolean();
+    private final long replicaStalenessMillis;
+    private volatile Version feeds = INITIAL;
+
+    private record Version(long seq, long at) {
+    }
+
+    public record Validator(String etag, long lastModified) {
+    }
+
+    public ContentVersions(
+            @Value("${datasource.replica.enabled:false}") boolean replicaEnabled,
+            @Value("${datasource.replica.max-lag:PT5S}") Duration replicaMaxLag,
+            @Value("${datasource.replica.check-interval-ms:5000}") long replicaCheckIntervalMs) {
+        // The lag is known as of the last check, so it may have grown for up to one more interval
+        this.replicaStalenessMillis = replicaEnabled ? replicaMaxLag.toMillis() + replicaCheckIntervalMs : 0;
+    }
+
+    /**
+     * Builds a body to be cached or revalidated under {@code validator}. While
+     * the version is younger than the replica may be behind, the body is read
+     * from the primary: a replica could still return the data from before the
+     * write that bumped the version.
+     */
+    public <T> T load(Validator validator, Supplier<T> loader) {
+        if (System.currentTimeMillis() - validator.lastModified() < replicaStalenessMillis) {
+            return PrimaryReads.call(loader);
+        }
+        return loader.get();
+    }
+
+    /**
+     * Validator shared by every story listing: pages, cursors and top lists.
+     */
+    public Validator feeds() {
+        return validator("f", feeds);
+    }
+
+    public Validator story(Long storyId) {
+        return validator("s" + storyId, stories.getOrDefault(storyId, INITIAL));
+    }
+
+    /**
+     * Comment threads carry per-user like state, so the viewer is part of the tag.
+     */
+    public Validator comments(Long storyId, Long userId) {
+        String viewer = userId != null ? userId.toString() : "anon";
+        return validator("c" + storyId + "-" + viewer, comments.getOrDefault(storyId, INITIAL));
+    }
+
+    /**
+     * Validator shared by a story's chapter list and its chapters, since
+     * removing one renumbers the rest.
+     */
+    public Validator chapters(Long storyId) {
+        return validator("h" + storyId, chapters.getOrDefault(storyId, INITIAL));
+    }
+
+    /**
+     * Called when listing order changes without a write of its own, such as a
+     * trending rebuild.
+     */
+    public void feedsReordered() {
+        feeds = next();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStoryChanged(StoryChangedEvent event) {
+        // Deleted stories keep their bumped version so an old tag can never revalidate
+        Version version = next();
+        stories.put(event.storyId(), version);
+        if (event.type() == StoryChangedEvent.Type.DELETED) {
+            comments.put(event.storyId(), version);
+            chapters.put(event.storyId(), version);
+        }
+        feeds = version;
+    }
+
+    /**
+     * Publishes the view counts flushed since the last call to the feeds.
+     */
+    @Scheduled(fixedDelayString = "${content-versions.view-feed-interval-ms:60000}")
+    public void publishFeedViews() {
+        if (feedViewsChanged.getAndSet(false)) {
+            feeds = next();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStoryStatsChanged(StoryStatsChangedEvent event) {
+        Version version = next();
+        stories.put(event.storyId(), version);
+        if (event.likesDelta() == 0 && event.commentsDelta() == 0) {
+            feedViewsChanged.set(true);
+        } else {
+            feeds = version;
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCommentChanged(CommentChangedEvent event) {
+        comments.put(event.storyId(), next());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChapterChanged(ChapterChangedEvent event) {
+        chapters.put(event.storyId(), next());
+    }
+
+    private Version next() {
+        return new Version(sequence.incrementAndGet(), System.currentTimeMillis());
+    }
+
+    private Validator validator(String scope, Version version) {
+        return new Validator("\"" + epoch + "-" + scope + "-" + version.seq() + "\"", version.at());
+    }
+}
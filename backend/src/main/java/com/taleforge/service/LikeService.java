@@ -1,14 +1,13 @@
 package com.taleforge.service;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.taleforge.domain.Like;
-import com.taleforge.domain.Story;
-import com.taleforge.domain.User;
+import com.taleforge.event.StoryStatsChangedEvent;
 import com.taleforge.repository.LikeRepository;
 import com.taleforge.repository.StoryRepository;
-import com.taleforge.repository.UserRepository;
 
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
@@ -19,48 +18,32 @@ public class LikeService {
 
     private final LikeRepository likeRepository;
     private final StoryRepository storyRepository;
-    private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
-    public void likeStory(Long storyId, String username) {
-        Story story = storyRepository.findById(storyId)
-                .orElseThrow(() -> new EntityNotFoundException("Story not found"));
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new EntityNotFoundException("User not found"));
-
-        if (!likeRepository.existsByUserAndStory(user, story)) {
-            Like like = Like.builder()
-                    .id(new Like.LikeId(user.getId(), storyId))
-                    .user(user)
-                    .story(story)
-                    .build();
-            likeRepository.save(like);
-
-            story.setLikes(story.getLikes() + 1);
-            storyRepository.save(story);
+    public void likeStory(Long storyId, Long userId) {
+        if (likeRepository.insertIfAbsent(userId, storyId) == 1) {
+            if (storyRepository.adjustLikes(storyId, 1) == 1) {
+                eventPublisher.publishEvent(StoryStatsChangedEvent.likes(storyId, 1));
+            }
+        } else if (!storyRepository.existsById(storyId)) {
+            throw new EntityNotFoundException("Story not found");
         }
     }
 
     @Transactional
-    public void unlikeStory(Long storyId, String username) {
-        Story story = storyRepository.findById(storyId)
-                .orElseThrow(() -> new EntityNotFoundException("Story not found"));
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new EntityNotFoundException("User not found"));
-
-        likeRepository.findByUserAndStory(user, story).ifPresent(like -> {
-            likeRepository.delete(like);
-            story.setLikes(story.getLikes() - 1);
-            storyRepository.save(story);
-        });
+    public void unlikeStory(Long storyId, Long userId) {
+        if (likeRepository.deleteByUserIdAndStoryId(userId, storyId) == 1) {
+            if (storyRepository.adjustLikes(storyId, -1) == 1) {
+                eventPublisher.publishEvent(StoryStatsChangedEvent.likes(storyId, -1));
+            }
+        } else if (!storyRepository.existsById(storyId)) {
+            throw new EntityNotFoundException("Story not found");
+        }
     }
 
-    public boolean hasLikedStory(Long storyId, String username) {
-        Story story = storyRepository.findById(storyId)
-                .orElseThrow(() -> new EntityNotFoundException("Story not found"));
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new EntityNotFoundException("User not found"));
-
-        return likeRepository.existsByUserAndStory(user, story);
+    @Transactional(readOnly = true)
+    public boolean hasLikedStory(Long storyId, Long userId) {
+        return likeRepository.existsById(new Like.LikeId(userId, storyId));
     }
-}
\ No newline at end of file
+}
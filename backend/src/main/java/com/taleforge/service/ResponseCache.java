@@ -0,0 +1,312 @@
+package com.taleforge.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.taleforge.dto.ChapterDTO;
+import com.taleforge.dto.CommentDTO;
+import com.taleforge.dto.CommentPageDTO;
+import com.taleforge.dto.CursorPageDTO;
+import com.taleforge.dto.StoryDTO;
+import com.taleforge.dto.StorySearchHitDTO;
+import com.taleforge.dto.StorySummaryDTO;
+import com.taleforge.event.ChapterChangedEvent;
+import com.taleforge.event.CommentChangedEvent;
+import com.taleforge.event.StoryChangedEvent;
+import com.taleforge.event.StoryStatsChangedEvent;
+import com.taleforge.exception.BadRequestException;
+import com.taleforge.exception.ResourceNotFoundException;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Bounded cache of the bodies served by the public read endpoints, weighed by
+ * an estimate of their size. Entries are keyed by the {@link ContentVersions}
+ * tag read before the body was built, so a body computed while a write
+ * committed can never be served for the newer version. The write events evict
+ * what they affect right away; the TTL only covers data outside those events,
+ * such as author profile changes. Feed entries are never evicted by events:
+ * the feed version moves on every listing change, and the old entries age out
+ * by weight and TTL. Entries of a story are indexed by its id, so an event
+ * evicts them without scanning the cache. Bodies are built through
+ * {@link ContentVersions#load}, so a fresh version is never cached with data
+ * read from a lagging replica.
+ * <p>
+ * A miss is loaded on the requesting thread, outside the cache's internal
+ * locks, so a virtual thread waiting on the database does not pin its carrier.
+ * Concurrent requests for the same key wait on the first one's future, which
+ * is also how a request meets a {@link #prefetch prefetch} still in flight.
+ */
+@Service
+public class ResponseCache implements MeterBinder {
+    private static final int ENTRY_OVERHEAD = 256;
+    private static final int ITEM_OVERHEAD = 512;
+
+    private final AsyncCache<Key, Object> cache;
+    private final Map<Long, Set<Key>> byStory = new ConcurrentHashMap<>();
+    private final ContentVersions contentVersions;
+    private final Executor prefetchExecutor;
+
+    public enum Scope {
+        STORY, FEED, COMMENTS, CHAPTERS
+    }
+
+    private record Key(Scope scope, Long storyId, String variant, String version) {
+    }
+
+    /**
+     * Outcome of a load that ended in a client error. It is handed to the
+     * requests waiting on the load and never stays cached.
+     */
+    private record Failure(RuntimeException exception) {
+    }
+
+    public ResponseCache(ContentVersions contentVersions,
+            @Value("${response-cache.max-weight:33554432}") long maxWeight,
+            @Value("${response-cache.ttl:PT10M}") Duration ttl,
+            @Qualifier("applicationTaskExecutor") Executor prefetchExecutor) {
+        this.contentVersions = contentVersions;
+        this.prefetchExecutor = prefetchExecutor;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxWeight)
+                .weigher((Key key, Object value) -> weigh(value))
+                .expireAfterWrite(ttl)
+                // Runs under the entry's lock, like the mapping functions that index it
+                .evictionListener((Key key, Object value, RemovalCause cause) -> unindex(key))
+                .recordStats()
+                .buildAsync();
+    }
+
+    /**
+     * Returns the cached body for the request, loading it on a miss.
+     * {@code storyId} is the story the body belongs to, or null for listings;
+     * {@code variant} identifies the request parameters within the scope.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(Scope scope, Long storyId, String variant, ContentVersions.Validator validator,
+            Supplier<T> loader) {
+        Key key = new Key(scope, storyId, variant, validator.etag());
+        CompletableFuture<Object> loading = new CompletableFuture<>();
+        CompletableFuture<Object> result = cache.get(key, (k, executor) -> {
+            index(k);
+            return loading;
+        });
+        if (result == loading) {
+            Object loaded;
+            try {
+                loaded = load(validator, loader);
+            } catch (RuntimeException | Error e) {
+                // A failed future is dropped from the cache, so the next request loads again
+                unindex(key);
+                loading.completeExceptionally(e);
+                throw e;
+            }
+            if (loaded instanceof Failure) {
+                drop(key, loading);
+            }
+            loading.complete(loaded);
+        }
+        Object value;
+        try {
+            value = result.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+        if (value instanceof Failure failure) {
+            throw failure.exception();
+        }
+        return (T) value;
+    }
+
+    /**
+     * Starts loading a body the client is likely to ask for next, unless it is
+     * already cached. Failed loads are dropped, so the request loads again.
+     */
+    public <T> void prefetch(Scope scope, Long storyId, String variant, ContentVersions.Validator validator,
+            Supplier<T> loader) {
+        Key key = new Key(scope, storyId, variant, validator.etag());
+        if (!cache.asMap().containsKey(key)) {
+            cache.get(key, (k, executor) -> {
+                index(k);
+                CompletableFuture<Object> prefetching = CompletableFuture.supplyAsync(
+                        () -> load(validator, loader), prefetchExecutor);
+                prefetching.whenComplete((value, failure) -> {
+                    if (failure != null) {
+                        unindex(k);
+                    } else if (value instanceof Failure) {
+                        drop(k, prefetching);
+                    }
+                });
+                return prefetching;
+            });
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Cache<Key, Object> view = cache.synchronous();
+        CacheStats stats = view.stats();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("entries", view.estimatedSize());
+        result.put("weight", view.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0)).orElse(0L));
+        result.put("hits", stats.hitCount());
+        result.put("misses", stats.missCount());
+        result.put("hitRate", stats.hitRate());
+        result.put("loadFailures", stats.loadFailureCount());
+        result.put("evictions", stats.evictionCount());
+        result.put("evictionWeight", stats.evictionWeight());
+        return result;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "responses");
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStoryChanged(StoryChangedEvent event) {
+        if (event.type() == StoryChangedEvent.Type.DELETED) {
+            evict(event.storyId(), Set.of(Scope.STORY, Scope.COMMENTS, Scope.CHAPTERS));
+        } else {
+            evict(event.storyId(), Set.of(Scope.STORY));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStoryStatsChanged(StoryStatsChangedEvent event) {
+        evict(event.storyId(), Set.of(Scope.STORY));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCommentChanged(CommentChangedEvent event) {
+        evict(event.storyId(), Set.of(Scope.COMMENTS));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChapterChanged(ChapterChangedEvent event) {
+        evict(event.storyId(), Set.of(Scope.CHAPTERS));
+    }
+
+    /**
+     * Loads a body, returning the client errors a loader reports for missing
+     * or invalid resources as a {@link Failure}. Completing the future
+     * exceptionally would make the cache log each of them as a failed load.
+     */
+    private Object load(ContentVersions.Validator validator, Supplier<?> loader) {
+        try {
+            return contentVersions.load(validator, loader);
+        } catch (ResourceNotFoundException | BadRequestException e) {
+            return new Failure(e);
+        }
+    }
+
+    private void drop(Key key, CompletableFuture<Object> future) {
+        cache.asMap().remove(key, future);
+        unindex(key);
+    }
+
+    private void index(Key key) {
+        if (key.storyId() != null) {
+            byStory.compute(key.storyId(), (id, keys) -> {
+                Set<Key> indexed = keys != null ? keys : new HashSet<>();
+                indexed.add(key);
+                return indexed;
+            });
+        }
+    }
+
+    private void unindex(Key key) {
+        if (key.storyId() != null) {
+            byStory.computeIfPresent(key.storyId(), (id, keys) -> {
+                keys.remove(key);
+                return keys.isEmpty() ? null : keys;
+            });
+        }
+    }
+
+    private void evict(Long storyId, Set<Scope> scopes) {
+        List<Key> affected = new ArrayList<>();
+        byStory.computeIfPresent(storyId, (id, keys) -> {
+            keys.removeIf(key -> scopes.contains(key.scope()) && affected.add(key));
+            return keys.isEmpty() ? null : keys;
+        });
+        // Outside the index lock: the cache takes its own locks before the index's, never after
+        cache.synchronous().invalidateAll(affected);
+    }
+
+    static int weigh(Object value) {
+        if (value instanceof StoryDTO story) {
+            return ENTRY_OVERHEAD + 2 * (length(story.getTitle()) + length(story.getDescription())
+                    + length(story.getContent()));
+        }
+        if (value instanceof ChapterDTO chapter) {
+            return ENTRY_OVERHEAD + 2 * (length(chapter.getTitle()) + length(chapter.getContent()));
+        }
+        if (value instanceof CommentDTO comment) {
+            return ITEM_OVERHEAD + 2 * length(comment.getContent());
+        }
+        if (value instanceof StorySummaryDTO summary) {
+            int chars = length(summary.getTitle()) + length(summary.getDescription()) + length(summary.getExcerpt());
+            if (summary.getAuthor() != null) {
+                chars += length(summary.getAuthor().getUsername()) + length(summary.getAuthor().getDisplayName());
+            }
+            if (summary.getTags() != null) {
+                for (String tag : summary.getTags()) {
+                    chars += length(tag);
+                }
+            }
+            return ITEM_OVERHEAD + 2 * chars;
+        }
+        if (value instanceof StorySearchHitDTO hit) {
+            return weigh(hit.getStory()) + 2 * length(hit.getHighlight());
+        }
+        if (value instanceof Page<?> page) {
+            return ENTRY_OVERHEAD + weighAll(page.getContent());
+        }
+        if (value instanceof CursorPageDTO<?> cursorPage) {
+            return ENTRY_OVERHEAD + weighAll(cursorPage.getItems());
+        }
+        if (value instanceof CommentPageDTO commentPage) {
+            return ENTRY_OVERHEAD + weighAll(commentPage.getItems());
+        }
+        if (value instanceof Collection<?> items) {
+            return ENTRY_OVERHEAD + weighAll(items);
+        }
+        return ITEM_OVERHEAD;
+    }
+
+    private static int weighAll(Collection<?> items) {
+        int weight = 0;
+        for (Object item : items) {
+            weight += weigh(item);
+        }
+        return weight;
+    }
+
+    private static int length(String value) {
+        return value != null ? value.length() : 0;
+    }
+}
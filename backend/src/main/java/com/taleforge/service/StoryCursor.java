@@ -0,0 +1,55 @@
+package com.taleforge.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import com.taleforge.dto.StorySummaryDTO;
+import com.taleforge.exception.BadRequestException;
+import com.taleforge.repository.StorySort;
+
+/**
+ * Opaque keyset position in a story feed: the sort it belongs to plus the sort
+ * value and id of the last row the client has seen.
+ */
+record StoryCursor(StorySort sort, Object lastValue, Long lastId) {
+
+    static StoryCursor after(StorySort sort, StorySummaryDTO last) {
+        Object value = switch (sort.getProperty()) {
+            case "createdAt" -> last.getCreatedAt();
+            case "views" -> last.getViews();
+            case "likes" -> last.getLikes();
+            case "trendingScore" -> last.getTrendingScore();
+            default -> throw new IllegalStateException("Unsupported cursor sort: " + sort);
+        };
+        return new StoryCursor(sort, value, last.getId());
+    }
+
+    static StoryCursor decode(String cursor, StorySort expectedSort) {
+        if (cursor == null || cursor.isEmpty()) {
+            return new StoryCursor(expectedSort, null, null);
+        }
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|", 3);
+            StorySort sort = StorySort.valueOf(parts[0]);
+            if (sort != expectedSort) {
+                throw new BadRequestException("Cursor was issued for sort '" + sort.getKey() + "'");
+            }
+            Object value = switch (sort.getProperty()) {
+                case "createdAt" -> LocalDateTime.parse(parts[1]);
+                case "trendingScore" -> Double.valueOf(parts[1]);
+                default -> Integer.valueOf(parts[1]);
+            };
+            return new StoryCursor(sort, value, Long.valueOf(parts[2]));
+        } catch (BadRequestException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+
+    String encode() {
+        String raw = sort.name() + "|" + lastValue + "|" + lastId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,107 @@
+package com.taleforge.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.taleforge.dto.StoryExportDTO;
+import com.taleforge.repository.StoryRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Streams the whole story catalogue as NDJSON, one story per line in id order.
+ * Stories are read in keyset batches of {@code export.batch-size}, each in its
+ * own short read-only transaction, and every batch is flushed to the client
+ * before the next one is read. Heap use and connection hold time therefore do
+ * not grow with the table, and a slow reader never pins a pooled connection.
+ * A client whose connection drops resumes by passing the id of the last
+ * complete line as {@code afterId}.
+ */
+@Slf4j
+@Service
+public class StoryExportService {
+    private static final int NEWLINE = '\n';
+
+    private final StoryRepository storyRepository;
+    private final TransactionTemplate readTransaction;
+    private final ObjectWriter writer;
+    private final int batchSize;
+
+    public StoryExportService(StoryRepository storyRepository, PlatformTransactionManager transactionManager,
+            ObjectMapper objectMapper, @Value("${export.batch-size:200}") int batchSize) {
+        this.storyRepository = storyRepository;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.writer = objectMapper.writerFor(StoryExportDTO.class);
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Writes up to {@code limit} stories with an id above {@code afterId} to
+     * {@code out} and returns how many were written.
+     */
+    public long export(long afterId, long limit, OutputStream out) throws IOException {
+        long started = System.currentTimeMillis();
+        long lastId = afterId;
+        long exported = 0;
+        try {
+            List<StoryExportDTO> batch;
+            int requested;
+            do {
+                requested = (int) Math.min(batchSize, limit - exported);
+                if (requested <= 0) {
+                    break;
+                }
+                batch = readBatch(lastId, requested);
+                if (batch.isEmpty()) {
+                    break;
+                }
+                for (StoryExportDTO story : batch) {
+                    out.write(writer.writeValueAsBytes(story));
+                    out.write(NEWLINE);
+                    lastId = story.getId();
+                }
+                out.flush();
+                exported += batch.size();
+            } while (batch.size() == requested);
+        } catch (IOException e) {
+            log.warn("Story export after id {} stopped at id {} after {} stories: {}", afterId, lastId, exported,
+                    e.getMessage());
+            throw e;
+        }
+        log.info("Exported {} stories after id {} in {} ms", exported, afterId, System.currentTimeMillis() - started);
+        return exported;
+    }
+
+    // The transaction ends before the batch is written, so the connection goes back to the pool first
+    private List<StoryExportDTO> readBatch(long afterId, int size) {
+        return readTransaction.execute(status -> {
+            List<StoryExportDTO> batch = storyRepository.findExportRowsAfter(afterId, PageRequest.of(0, size));
+            if (!batch.isEmpty()) {
+                attachTags(batch);
+            }
+            return batch;
+        });
+    }
+
+    private void attachTags(List<StoryExportDTO> batch) {
+        Map<Long, StoryExportDTO> byId = new HashMap<>();
+        for (StoryExportDTO story : batch) {
+            byId.put(story.getId(), story);
+        }
+        for (Object[] row : storyRepository.findTagsByStoryIds(byId.keySet())) {
+            byId.get((Long) row[0]).getTags().add((String) row[1]);
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.taleforge.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.taleforge.domain.Comment;
+import com.taleforge.domain.Story;
+import com.taleforge.domain.User;
+import com.taleforge.dto.ImportResultDTO;
+import com.taleforge.dto.StoryImportDTO;
+import com.taleforge.event.StoryChangedEvent;
+import com.taleforge.exception.BadRequestException;
+import com.taleforge.repository.CommentRepository;
+import com.taleforge.repository.StoryRepository;
+import com.taleforge.repository.UserRepository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Bulk ingestion of stories with their tags and comments, e.g. when authors
+ * move over from another platform. Ids come from the pooled sequences, so
+ * Hibernate sends the inserts as JDBC batches grouped by table instead of one
+ * round trip per row. The persistence context is flushed and cleared every
+ * {@code import.chunk-size} stories to keep it small.
+ */
+@Slf4j
+@Service
+public class StoryImportService {
+    private static final int MAX_STORIES = 1000;
+    private static final int MAX_TITLE_LENGTH = 255;
+    private static final int MAX_DESCRIPTION_LENGTH = 1000;
+    private static final int MAX_CONTENT_LENGTH = 10000;
+    private static final int MAX_COMMENT_LENGTH = 1000;
+
+    private final StoryRepository storyRepository;
+    private final CommentRepository commentRepository;
+    private final UserRepository userRepository;
+    private final TagStatsService tagStatsService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int chunkSize;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public StoryImportService(StoryRepository storyRepository, CommentRepository commentRepository,
+            UserRepository userRepository, TagStatsService tagStatsService, ApplicationEventPublisher eventPublisher,
+            @Value("${import.chunk-size:500}") int chunkSize) {
+        this.storyRepository = storyRepository;
+        this.commentRepository = commentRepository;
+        this.userRepository = userRepository;
+        this.tagStatsService = tagStatsService;
+        this.eventPublisher = eventPublisher;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Imports all the stories in one transaction, so a failed import leaves
+     * nothing behind and can simply be retried.
+     */
+    @Transactional
+    public ImportResultDTO importStories(List<StoryImportDTO> stories) {
+        validate(stories);
+        long started = System.nanoTime();
+        Map<String, Long> authorIds = authorIds(stories);
+
+        Map<String, Integer> publishedTags = new HashMap<>();
+        List<Long> withComments = new ArrayList<>();
+        int tags = 0;
+        int comments = 0;
+        for (int i = 0; i < stories.size(); i++) {
+            StoryImportDTO source = stories.get(i);
+            Story story = storyRepository.save(Story.builder()
+                    .title(source.getTitle())
+                    .description(source.getDescription())
+                    .content(source.getContent())
+                    .published(source.isPublished())
+                    .tags(new HashSet<>(source.getTags()))
+                    .author(author(authorIds, source.getAuthorUsername()))
+                    // Written by the recount below; set here so the event carries it
+                    .commentsCount(source.getComments().size())
+                    .build());
+            for (StoryImportDTO.CommentImportDTO commentSource : source.getComments()) {
+                Comment comment = new Comment();
+                comment.setContent(commentSource.getContent());
+                comment.setStory(story);
+                comment.setAuthor(author(authorIds, commentSource.getAuthorUsername()));
+                commentRepository.save(comment);
+            }
+            eventPublisher.publishEvent(StoryChangedEvent.of(StoryChangedEvent.Type.CREATED, story));
+
+            if (story.isPublished()) {
+                story.getTags().forEach(tag -> publishedTags.merge(tag, 1, Integer::sum));
+            }
+            tags += story.getTags().size();
+            comments += source.getComments().size();
+            if (!source.getComments().isEmpty()) {
+                withComments.add(story.getId());
+            }
+            if ((i + 1) % chunkSize == 0) {
+                flush(withComments);
+            }
+        }
+        flush(withComments);
+        tagStatsService.recordAdded(publishedTags);
+
+        long elapsedMillis = Math.max(1, (System.nanoTime() - started) / 1_000_000);
+        int rows = stories.size() + tags + comments;
+        double rowsPerSecond = rows * 1000.0 / elapsedMillis;
+        log.info("Imported {} stories, {} tags and {} comments in {} ms ({} rows/s)", stories.size(), tags, comments,
+                elapsedMillis, Math.round(rowsPerSecond));
+        return new ImportResultDTO(stories.size(), tags, comments, elapsedMillis, rowsPerSecond);
+    }
+
+    private void flush(List<Long> storiesWithComments) {
+        entityManager.flush();
+        if (!storiesWithComments.isEmpty()) {
+            storyRepository.recountComments(storiesWithComments);
+            storiesWithComments.clear();
+        }
+        entityManager.clear();
+    }
+
+    private User author(Map<String, Long> authorIds, String username) {
+        // A reference is enough to write the foreign key, so authors are never loaded
+        return userRepository.getReferenceById(authorIds.get(username));
+    }
+
+    private Map<String, Long> authorIds(List<StoryImportDTO> stories) {
+        Set<String> usernames = new HashSet<>();
+        for (StoryImportDTO story : stories) {
+            usernames.add(story.getAuthorUsername());
+            story.getComments().forEach(comment -> usernames.add(comment.getAuthorUsername()));
+        }
+        Map<String, Long> ids = new HashMap<>();
+        for (Object[] row : userRepository.findIdsByUsernames(usernames)) {
+            ids.put((String) row[0], (Long) row[1]);
+        }
+        Set<String> unknown = new TreeSet<>(usernames);
+        unknown.removeAll(ids.keySet());
+        if (!unknown.isEmpty()) {
+            throw new BadRequestException("Unknown authors: " + String.join(", ", unknown));
+        }
+        return ids;
+    }
+
+    private static void validate(List<StoryImportDTO> stories) {
+        if (stories == null || stories.isEmpty()) {
+            throw new BadRequestException("Nothing to import");
+        }
+        if (stories.size() > MAX_STORIES) {
+            throw new BadRequestException("At most " + MAX_STORIES + " stories can be imported per request");
+        }
+        for (int i = 0; i < stories.size(); i++) {
+            StoryImportDTO story = stories.get(i);
+            String at = "Story " + i + ": ";
+            require(story.getTitle(), MAX_TITLE_LENGTH, at + "title");
+            require(story.getDescription(), MAX_DESCRIPTION_LENGTH, at + "description");
+            require(story.getContent(), MAX_CONTENT_LENGTH, at + "content");
+            require(story.getAuthorUsername(), Integer.MAX_VALUE, at + "author");
+            if (story.getTags() == null || story.getComments() == null) {
+                throw new BadRequestException(at + "tags and comments must not be null");
+            }
+            for (StoryImportDTO.CommentImportDTO comment : story.getComments()) {
+                require(comment.getContent(), MAX_COMMENT_LENGTH, at + "comment content");
+                require(comment.getAuthorUsername(), Integer.MAX_VALUE, at + "comment author");
+            }
+        }
+    }
+
+    private static void require(String value, int maxLength, String field) {
+        if (value == null || value.isBlank()) {
+            throw new BadRequestException(field + " is required");
+        }
+        if (value.length() > maxLength) {
+            throw new BadRequestException(field + " must be at most " + maxLength + " characters");
+        }
+    }
+}
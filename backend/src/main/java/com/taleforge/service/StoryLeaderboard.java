@@ -0,0 +1,509 @@
+package com.taleforge.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Iterator;
+import java.util.NavigableSet;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.taleforge.dto.StorySummaryDTO;
+import com.taleforge.event.StoryChangedEvent;
+import com.taleforge.event.StoryStatsChangedEvent;
+import com.taleforge.repository.StoryRepository;
+import com.taleforge.repository.StorySort;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory top lists of published stories. Every ranking is a skip list
+ * ordered like its {@link StorySort}, globally and per tag, that keeps only
+ * the first {@code leaderboard.top-k} stories, so memory follows the number of
+ * rankings and not the size of the catalogue. Story, like and view-flush events
+ * keep them current; a story outside every ranking has its counters looked up
+ * when it gains views or likes, and a periodic rebuild from the database
+ * refills rankings thinned by unpublished stories and corrects any drift.
+ */
+@Slf4j
+@Service
+public class StoryLeaderboard implements MeterBinder {
+    private static final List<StorySort> RANKED_SORTS =
+            List.of(StorySort.NEWEST, StorySort.OLDEST, StorySort.POPULAR, StorySort.LIKES);
+    private static final int REBUILD_BATCH_SIZE = 1000;
+
+    private final StoryRepository storyRepository;
+    private final int topK;
+    private final int maxCandidates;
+    private final Cache<Long, StorySummaryDTO> summaries;
+    private final Lock rebuildLock = new ReentrantLock();
+    private final ReadWriteLock eventLock = new ReentrantReadWriteLock();
+    // Unranked stories that gained views or likes, looked up in batches by refreshCandidates
+    private final Set<Long> candidates = ConcurrentHashMap.newKeySet();
+    private final AtomicLong droppedCandidates = new AtomicLong();
+    private volatile Board board;
+    // Events seen while a rebuild runs, replayed onto the new board before it is swapped in
+    private Queue<Deferred> deferred;
+    private volatile long scannedThrough;
+
+    record Entry(long id, int views, int likes, LocalDateTime createdAt, Set<String> tags) {
+
+        Entry adjust(int viewsDelta, int likesDelta) {
+            return new Entry(id, views + viewsDelta, Math.max(likes + likesDelta, 0), createdAt, tags);
+        }
+    }
+
+    private record Deferred(Object event, boolean scanned) {
+    }
+
+    public StoryLeaderboard(StoryRepository storyRepository,
+            @Value("${leaderboard.top-k:200}") int topK,
+            @Value("${leaderboard.max-candidates:10000}") int maxCandidates,
+            @Value("${leaderboard.summary-cache-size:1000}") long summaryCacheSize,
+            @Value("${leaderboard.summary-ttl:PT10M}") Duration summaryTtl) {
+        this.storyRepository = storyRepository;
+        this.topK = topK;
+        this.maxCandidates = maxCandidates;
+        this.board = new Board(topK);
+        this.summaries = Caffeine.newBuilder()
+                .maximumSize(summaryCacheSize)
+                .expireAfterWrite(summaryTtl)
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, summaries, "story-summaries");
+        Gauge.builder("leaderboard.stories", this, leaderboard -> leaderboard.board.size())
+                .description("Stories held by at least one ranking")
+                .register(registry);
+        Gauge.builder("leaderboard.candidates", candidates, Set::size)
+                .register(registry);
+        FunctionCounter.builder("leaderboard.candidates.dropped", droppedCandidates, AtomicLong::get)
+                .description("Unranked stories not looked up because the candidate queue was full")
+                .register(registry);
+    }
+
+    /**
+     * Top published stories for the sort, optionally restricted to a tag. Only
+     * summaries that are not cached yet are loaded, in a single query; the
+     * counters and tags always come from the live ranking. Lists are at most
+     * {@code leaderboard.top-k} long.
+     */
+    public List<StorySummaryDTO> top(StorySort sort, String tag, int limit) {
+        return summarize(board.select(sort, tag, limit));
+    }
+
+    private List<StorySummaryDTO> summarize(List<Entry> entries) {
+        if (entries.isEmpty()) {
+            return List.of();
+        }
+
+        List<Long> ids = entries.stream().map(Entry::id).toList();
+        Map<Long, StorySummaryDTO> cached = summaries.getAll(ids, this::loadSummaries);
+        List<StorySummaryDTO> result = new ArrayList<>(entries.size());
+        for (Entry entry : entries) {
+            StorySummaryDTO summary = cached.get(entry.id());
+            if (summary != null) {
+                result.add(snapshot(summary, entry));
+            }
+        }
+        return result;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        rebuild();
+    }
+
+    @Scheduled(initialDelayString = "${leaderboard.reconcile-interval-ms:300000}",
+            fixedDelayString = "${leaderboard.reconcile-interval-ms:300000}")
+    public void rebuild() {
+        rebuildLock.lock();
+        long started = System.currentTimeMillis();
+        Board next = new Board(topK);
+        startDeferring();
+        try {
+            long afterId = 0;
+            List<Object[]> batch;
+            do {
+                batch = storyRepository.findPublishedRankingsAfter(afterId,
+                        PageRequest.of(0, REBUILD_BATCH_SIZE));
+                if (batch.isEmpty()) {
+                    break;
+                }
+                Map<Long, Set<String>> tags = loadTags(batch.stream().map(row -> (Long) row[0]).toList());
+                for (Object[] row : batch) {
+                    Entry entry = entry(row, tags);
+                    next.put(entry);
+                    afterId = entry.id();
+                }
+                scannedThrough = afterId;
+            } while (batch.size() == REBUILD_BATCH_SIZE);
+            finishDeferring(next);
+            log.info("Rebuilt story leaderboard holding {} stories in {} ms", next.size(),
+                    System.currentTimeMillis() - started);
+        } catch (RuntimeException e) {
+            log.error("Failed to rebuild story leaderboard", e);
+        } finally {
+            if (board != next) {
+                finishDeferring(null);
+            }
+            rebuildLock.unlock();
+        }
+    }
+
+    /**
+     * Reads the counters of queued stories and offers the ones still unranked.
+     * It waits for the next round while a rebuild runs, as the board it would
+     * fill is about to be replaced.
+     */
+    @Scheduled(fixedDelayString = "${leaderboard.candidate-interval-ms:5000}")
+    public void refreshCandidates() {
+        if (candidates.isEmpty() || !rebuildLock.tryLock()) {
+            return;
+        }
+        try {
+            List<Long> batch = new ArrayList<>(REBUILD_BATCH_SIZE);
+            Iterator<Long> queued = candidates.iterator();
+            while (queued.hasNext()) {
+                batch.add(queued.next());
+                queued.remove();
+                if (batch.size() == REBUILD_BATCH_SIZE || !queued.hasNext()) {
+                    List<Object[]> rows = storyRepository.findPublishedRankingsByIds(batch);
+                    Map<Long, Set<String>> tags = loadTags(rows.stream().map(row -> (Long) row[0]).toList());
+                    rows.forEach(row -> board.putIfAbsent(entry(row, tags)));
+                    batch.clear();
+                }
+            }
+        } catch (RuntimeException e) {
+            log.error("Failed to look up leaderboard candidates", e);
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStoryChanged(StoryChangedEvent event) {
+        summaries.invalidate(event.storyId());
+        apply(event, event.storyId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStoryStatsChanged(StoryStatsChangedEvent event) {
+        if (event.viewsDelta() == 0 && event.likesDelta() == 0) {
+            return;
+        }
+        apply(event, event.storyId());
+    }
+
+    /**
+     * Applies the event to the live board and, while a rebuild runs, holds it
+     * for the new one. It is marked as scanned when the rebuild has already
+     * read past the story, so the read missed it.
+     */
+    private void apply(Object event, long storyId) {
+        eventLock.readLock().lock();
+        try {
+            apply(board, event);
+            if (deferred != null) {
+                deferred.add(new Deferred(event, storyId <= scannedThrough));
+            }
+        } finally {
+            eventLock.readLock().unlock();
+        }
+    }
+
+    private void startDeferring() {
+        eventLock.writeLock().lock();
+        try {
+            scannedThrough = 0;
+            deferred = new ConcurrentLinkedQueue<>();
+        } finally {
+            eventLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replays the held events onto {@code next} and swaps it in, or only drops
+     * them when {@code next} is null. Story events always replay, so a story
+     * unpublished after its row was read leaves again; counter changes only
+     * for stories read before them, as the read already holds the others.
+     */
+    private void finishDeferring(Board next) {
+        eventLock.writeLock().lock();
+        try {
+            if (next != null) {
+                for (Deferred held : deferred) {
+                    if (held.event() instanceof StoryChangedEvent || held.scanned()) {
+                        apply(next, held.event());
+                    }
+                }
+                board = next;
+            }
+        } finally {
+            deferred = null;
+            eventLock.writeLock().unlock();
+        }
+    }
+
+    private void apply(Board target, Object event) {
+        if (event instanceof StoryChangedEvent story) {
+            if (story.published()) {
+                target.put(new Entry(story.storyId(), story.views(), story.likes(), story.createdAt(),
+                        story.tags()));
+            } else {
+                target.remove(story.storyId());
+            }
+        } else {
+            StoryStatsChangedEvent stats = (StoryStatsChangedEvent) event;
+            boolean ranked = target.adjust(stats.storyId(), stats.viewsDelta(), stats.likesDelta());
+            // Only a gain can lift an unranked story into a ranking
+            if (!ranked && (stats.viewsDelta() > 0 || stats.likesDelta() > 0)) {
+                if (candidates.size() < maxCandidates) {
+                    candidates.add(stats.storyId());
+                } else {
+                    droppedCandidates.incrementAndGet();
+                }
+            }
+        }
+    }
+
+    private Map<Long, StorySummaryDTO> loadSummaries(Set<? extends Long> ids) {
+        Map<Long, StorySummaryDTO> loaded = new HashMap<>();
+        storyRepository.findPublishedSummariesByIds(List.copyOf(ids))
+                .forEach(summary -> loaded.put(summary.getId(), summary));
+        return loaded;
+    }
+
+    private Map<Long, Set<String>> loadTags(List<Long> storyIds) {
+        Map<Long, Set<String>> tags = new HashMap<>();
+        if (storyIds.isEmpty()) {
+            return tags;
+        }
+        for (Object[] row : storyRepository.findTagsByStoryIds(storyIds)) {
+            tags.computeIfAbsent((Long) row[0], id -> new HashSet<>()).add((String) row[1]);
+        }
+        return tags;
+    }
+
+    private static Entry entry(Object[] row, Map<Long, Set<String>> tags) {
+        Long id = (Long) row[0];
+        return new Entry(id, (Integer) row[1], (Integer) row[2], (LocalDateTime) row[3],
+                tags.getOrDefault(id, Set.of()));
+    }
+
+    private static StorySummaryDTO snapshot(StorySummaryDTO summary, Entry entry) {
+        StorySummaryDTO copy = new StorySummaryDTO(summary.getId(), summary.getTitle(), summary.getDescription(),
+                summary.getExcerpt(), summary.getAuthor().getId(), summary.getAuthor().getUsername(),
+                summary.getAuthor().getDisplayName(), true, entry.views(), entry.likes(),
+                summary.getTrendingScore(), summary.getCreatedAt(), summary.getUpdatedAt());
+        copy.setTags(new HashSet<>(entry.tags()));
+        return copy;
+    }
+
+    private static Comparator<Entry> comparator(StorySort sort) {
+        return switch (sort) {
+            case POPULAR -> Comparator.comparingInt(Entry::views).reversed()
+                    .thenComparing(Comparator.comparingLong(Entry::id).reversed());
+            case LIKES -> Comparator.comparingInt(Entry::likes).reversed()
+                    .thenComparing(Comparator.comparingLong(Entry::id).reversed());
+            case OLDEST -> Comparator.comparing(Entry::createdAt, Comparator.nullsLast(Comparator.naturalOrder()))
+                    .thenComparingLong(Entry::id);
+            default -> Comparator.comparing(Entry::createdAt, Comparator.nullsLast(Comparator.reverseOrder()))
+                    .thenComparing(Comparator.comparingLong(Entry::id).reversed());
+        };
+    }
+
+    /**
+     * A skip list that keeps its first {@code capacity} entries. Once it has
+     * turned one away, stories outside it may rank above its last entry, so an
+     * entry that would land at the end is turned away too rather than shown
+     * out of order.
+     */
+    private static final class Ranking {
+        private final NavigableSet<Entry> entries;
+        private final int capacity;
+        private boolean truncated;
+
+        Ranking(StorySort sort, int capacity) {
+            this.entries = new ConcurrentSkipListSet<>(comparator(sort));
+            this.capacity = capacity;
+        }
+
+        /**
+         * Adds the entry and returns the one that does not fit, which may be
+         * the entry itself, or null when all fit.
+         */
+        Entry offer(Entry entry) {
+            entries.add(entry);
+            if (truncated && entry.equals(entries.last())) {
+                entries.remove(entry);
+                return entry;
+            }
+            if (entries.size() > capacity) {
+                truncated = true;
+                return entries.pollLast();
+            }
+            return null;
+        }
+    }
+
+    /**
+     * One consistent set of rankings. {@code entries} holds the stories that
+     * are in at least one of them. Writers are serialized; readers walk the
+     * skip lists without locking and may briefly miss a story that is being
+     * re-ranked.
+     */
+    private static final class Board {
+        private final int capacity;
+        private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+        private final Map<StorySort, Ranking> global;
+        private final Map<String, Map<StorySort, Ranking>> byTag = new ConcurrentHashMap<>();
+
+        Board(int capacity) {
+            this.capacity = capacity;
+            this.global = newRankings(capacity);
+        }
+
+        synchronized void put(Entry entry) {
+            Entry previous = entries.remove(entry.id());
+            if (previous != null) {
+                unlink(previous);
+            }
+            offer(entry);
+            if (previous != null) {
+                dropEmptyTags(previous);
+            }
+        }
+
+        synchronized void putIfAbsent(Entry entry) {
+            if (!entries.containsKey(entry.id())) {
+                offer(entry);
+            }
+        }
+
+        synchronized void remove(long id) {
+            Entry previous = entries.remove(id);
+            if (previous != null) {
+                unlink(previous);
+                dropEmptyTags(previous);
+            }
+        }
+
+        /**
+         * Re-ranks a held story, or returns false when no ranking holds it and
+         * its counters are unknown here.
+         */
+        synchronized boolean adjust(long id, int viewsDelta, int likesDelta) {
+            Entry previous = entries.remove(id);
+            if (previous == null) {
+                return false;
+            }
+            unlink(previous);
+            offer(previous.adjust(viewsDelta, likesDelta));
+            return true;
+        }
+
+        int size() {
+            return entries.size();
+        }
+
+        List<Entry> select(StorySort sort, String tag, int limit) {
+            Map<StorySort, Ranking> rankings = tag == null || tag.isEmpty() ? global : byTag.get(tag);
+            if (rankings == null) {
+                return List.of();
+            }
+
+            List<Entry> top = new ArrayList<>(limit);
+            for (Entry entry : rankings.getOrDefault(sort, rankings.get(StorySort.NEWEST)).entries) {
+                if (top.size() == limit) {
+                    break;
+                }
+                top.add(entry);
+            }
+            return top;
+        }
+
+        private void offer(Entry entry) {
+            boolean held = false;
+            List<Entry> evicted = new ArrayList<>();
+            for (Ranking ranking : rankings(entry)) {
+                Entry out = ranking.offer(entry);
+                if (out != entry) {
+                    held = true;
+                }
+                if (out != null && out != entry) {
+                    evicted.add(out);
+                }
+            }
+            if (held) {
+                entries.put(entry.id(), entry);
+            } else {
+                dropEmptyTags(entry);
+            }
+            for (Entry out : evicted) {
+                if (rankings(out).stream().noneMatch(ranking -> ranking.entries.contains(out))) {
+                    entries.remove(out.id());
+                }
+            }
+        }
+
+        private void unlink(Entry entry) {
+            rankings(entry).forEach(ranking -> ranking.entries.remove(entry));
+        }
+
+        private List<Ranking> rankings(Entry entry) {
+            List<Ranking> rankings = new ArrayList<>(global.values());
+            for (String tag : entry.tags()) {
+                rankings.addAll(byTag.computeIfAbsent(tag, t -> newRankings(capacity)).values());
+            }
+            return rankings;
+        }
+
+        private void dropEmptyTags(Entry entry) {
+            for (String tag : entry.tags()) {
+                Map<StorySort, Ranking> rankings = byTag.get(tag);
+                if (rankings != null && rankings.values().stream().allMatch(ranking -> ranking.entries.isEmpty())) {
+                    byTag.remove(tag);
+                }
+            }
+        }
+
+        private static Map<StorySort, Ranking> newRankings(int capacity) {
+            Map<StorySort, Ranking> rankings = new EnumMap<>(StorySort.class);
+            RANKED_SORTS.forEach(sort -> rankings.put(sort, new Ranking(sort, capacity)));
+            return rankings;
+        }
+    }
+}
@@ -0,0 +1,374 @@
+package com.taleforge.service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.en.EnglishAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.classic.MultiFieldQueryParser;
+import org.apache.lucene.queryparser.classic.ParseException;
+import org.apache.lucene.queryparser.classic.QueryParser;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.highlight.Highlighter;
+import org.apache.lucene.search.highlight.InvalidTokenOffsetsException;
+import org.apache.lucene.search.highlight.QueryScorer;
+import org.apache.lucene.search.highlight.SimpleFragmenter;
+import org.apache.lucene.search.highlight.SimpleHTMLEncoder;
+import org.apache.lucene.search.highlight.SimpleHTMLFormatter;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.taleforge.event.StoryChangedEvent;
+import com.taleforge.exception.BadRequestException;
+import com.taleforge.repository.StoryRepository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Embedded Lucene index over published stories, kept current from
+ * {@link StoryChangedEvent}s with near-real-time readers refreshed after every
+ * change and periodic commits. The index lives on disk under
+ * {@code search.index-path} (in memory when blank) and stores only the fields
+ * results are highlighted from, with the content cut to an excerpt.
+ * <p>
+ * Each commit records when it was taken. At startup an index from an older
+ * format, or without a commit, is rebuilt from the database; otherwise only
+ * stories updated since shortly before the last commit are reindexed, and the
+ * index is rebuilt only if it then disagrees with the published story count.
+ */
+@Slf4j
+@Service
+public class StorySearchIndex {
+    private static final String FIELD_ID = "id";
+    private static final String FIELD_TITLE = "title";
+    private static final String FIELD_DESCRIPTION = "description";
+    private static final String FIELD_CONTENT = "content";
+    private static final String FIELD_EXCERPT = "excerpt";
+    private static final String FIELD_TAGS = "tags";
+    private static final String FIELD_TAG = "tag";
+    private static final String[] SEARCH_FIELDS = { FIELD_TITLE, FIELD_TAGS, FIELD_DESCRIPTION, FIELD_CONTENT };
+    private static final Map<String, Float> FIELD_BOOSTS = Map.of(
+            FIELD_TITLE, 3.0f,
+            FIELD_TAGS, 2.0f,
+            FIELD_DESCRIPTION, 1.5f,
+            FIELD_CONTENT, 1.0f);
+    private static final int REINDEX_BATCH_SIZE = 500;
+    private static final int SNIPPET_LENGTH = 160;
+    private static final int EXCERPT_LENGTH = 2000;
+    // Bump when the document layout changes, so existing indexes are rebuilt
+    private static final String FORMAT_VERSION = "2";
+    private static final String COMMIT_FORMAT = "format";
+    private static final String COMMIT_TIME = "committedAt";
+    // Changes committed to the database shortly before an index commit may only reach the index after it
+    private static final Duration CATCH_UP_MARGIN = Duration.ofMinutes(5);
+
+    private final StoryRepository storyRepository;
+    private final String indexPath;
+    private final boolean rebuildOnStartup;
+    private final Analyzer analyzer = new EnglishAnalyzer();
+
+    private Directory directory;
+    private IndexWriter writer;
+    private SearcherManager searcherManager;
+
+    public record Hit(long storyId, float score, String highlight) {
+    }
+
+    public record Result(List<Hit> hits, long totalHits) {
+    }
+
+    public StorySearchIndex(StoryRepository storyRepository,
+            @Value("${search.index-path:}") String indexPath,
+            @Value("${search.rebuild-on-startup:true}") boolean rebuildOnStartup) {
+        this.storyRepository = storyRepository;
+        this.indexPath = indexPath;
+        this.rebuildOnStartup = rebuildOnStartup;
+    }
+
+    @PostConstruct
+    void open() throws IOException {
+        directory = indexPath.isBlank() ? new ByteBuffersDirectory() : FSDirectory.open(Path.of(indexPath));
+        writer = new IndexWriter(directory, new IndexWriterConfig(analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+        searcherManager = new SearcherManager(writer, null);
+        log.info("Opened story search index at {}", indexPath.isBlank() ? "<memory>" : indexPath);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        Map<String, String> commitData = new HashMap<>();
+        Iterable<Map.Entry<String, String>> live = writer.getLiveCommitData();
+        if (live != null) {
+            live.forEach(entry -> commitData.put(entry.getKey(), entry.getValue()));
+        }
+        if (rebuildOnStartup || !FORMAT_VERSION.equals(commitData.get(COMMIT_FORMAT))
+                || !commitData.containsKey(COMMIT_TIME)) {
+            rebuild();
+            return;
+        }
+
+        try {
+            int updated = catchUp(LocalDateTime.parse(commitData.get(COMMIT_TIME)).minus(CATCH_UP_MARGIN));
+            commitChanges();
+            long published = storyRepository.countByPublishedTrue();
+            if (writer.getDocStats().numDocs != published) {
+                log.info("Search index holds {} stories but {} are published, rebuilding",
+                        writer.getDocStats().numDocs, published);
+                rebuild();
+                return;
+            }
+            searcherManager.maybeRefresh();
+            log.info("Opened search index with {} stories, {} reindexed since the last commit", published, updated);
+        } catch (IOException e) {
+            log.error("Failed to catch up story search index, rebuilding", e);
+            rebuild();
+        }
+    }
+
+    public void rebuild() {
+        long started = System.currentTimeMillis();
+        int indexed = 0;
+        try {
+            writer.deleteAll();
+            long afterId = 0;
+            List<Object[]> batch;
+            do {
+                batch = storyRepository.findPublishedForIndexing(afterId, PageRequest.of(0, REINDEX_BATCH_SIZE));
+                if (batch.isEmpty()) {
+                    break;
+                }
+                Map<Long, Set<String>> tags = loadTags(batch.stream().map(row -> (Long) row[0]).toList());
+                for (Object[] row : batch) {
+                    Long id = (Long) row[0];
+                    // Keyed like event updates, so a story published meanwhile is not indexed twice
+                    writer.updateDocument(idTerm(id), toDocument(id, (String) row[1], (String) row[2],
+                            (String) row[3], tags.getOrDefault(id, Set.of())));
+                    afterId = id;
+                }
+                indexed += batch.size();
+            } while (batch.size() == REINDEX_BATCH_SIZE);
+            commitChanges();
+            searcherManager.maybeRefresh();
+            log.info("Rebuilt story search index with {} stories in {} ms", indexed,
+                    System.currentTimeMillis() - started);
+        } catch (IOException e) {
+            log.error("Failed to rebuild story search index", e);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStoryChanged(StoryChangedEvent event) {
+        Term idTerm = idTerm(event.storyId());
+        try {
+            if (event.published()) {
+                writer.updateDocument(idTerm, toDocument(event.storyId(), event.title(), event.description(),
+                        event.content(), event.tags()));
+            } else {
+                writer.deleteDocuments(idTerm);
+            }
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            log.error("Failed to update search index for story {}", event.storyId(), e);
+        }
+    }
+
+    public Result search(String queryText, String tag, int page, int size) {
+        Query textQuery = parse(queryText);
+        BooleanQuery.Builder builder = new BooleanQuery.Builder().add(textQuery, BooleanClause.Occur.MUST);
+        if (tag != null && !tag.isEmpty()) {
+            builder.add(new TermQuery(new Term(FIELD_TAG, tag)), BooleanClause.Occur.FILTER);
+        }
+        Query query = builder.build();
+        int offset;
+        int end;
+        try {
+            offset = Math.multiplyExact(page, size);
+            end = Math.addExact(offset, size);
+        } catch (ArithmeticException e) {
+            throw new BadRequestException("Page " + page + " is out of range");
+        }
+
+        IndexSearcher searcher = null;
+        try {
+            searcher = searcherManager.acquire();
+            TopDocs top = searcher.search(query, end);
+            Highlighter highlighter = new Highlighter(new SimpleHTMLFormatter("<mark>", "</mark>"),
+                    new SimpleHTMLEncoder(), new QueryScorer(textQuery));
+            highlighter.setTextFragmenter(new SimpleFragmenter(SNIPPET_LENGTH));
+
+            List<Hit> hits = new ArrayList<>();
+            for (int i = offset; i < top.scoreDocs.length; i++) {
+                ScoreDoc scoreDoc = top.scoreDocs[i];
+                Document doc = searcher.storedFields().document(scoreDoc.doc);
+                hits.add(new Hit(Long.parseLong(doc.get(FIELD_ID)), scoreDoc.score, highlight(highlighter, doc)));
+            }
+            return new Result(hits, top.totalHits.value);
+        } catch (IOException e) {
+            throw new IllegalStateException("Story search failed", e);
+        } finally {
+            release(searcher);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${search.commit-interval-ms:30000}")
+    public void commit() {
+        try {
+            if (writer.hasUncommittedChanges()) {
+                commitChanges();
+            }
+        } catch (IOException e) {
+            log.error("Failed to commit story search index", e);
+        }
+    }
+
+    @PreDestroy
+    void close() throws IOException {
+        commit();
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+
+    /**
+     * Reindexes stories updated after {@code since}, and drops those no longer
+     * published, returning how many were looked at.
+     */
+    private int catchUp(LocalDateTime since) throws IOException {
+        int updated = 0;
+        long afterId = 0;
+        List<Object[]> batch;
+        do {
+            batch = storyRepository.findUpdatedForIndexing(since, afterId, PageRequest.of(0, REINDEX_BATCH_SIZE));
+            if (batch.isEmpty()) {
+                break;
+            }
+            Map<Long, Set<String>> tags = loadTags(batch.stream().map(row -> (Long) row[0]).toList());
+            for (Object[] row : batch) {
+                Long id = (Long) row[0];
+                if ((Boolean) row[4]) {
+                    writer.updateDocument(idTerm(id), toDocument(id, (String) row[1], (String) row[2],
+                            (String) row[3], tags.getOrDefault(id, Set.of())));
+                } else {
+                    writer.deleteDocuments(idTerm(id));
+                }
+                afterId = id;
+            }
+            updated += batch.size();
+        } while (batch.size() == REINDEX_BATCH_SIZE);
+        return updated;
+    }
+
+    private void commitChanges() throws IOException {
+        writer.setLiveCommitData(Map.of(
+                COMMIT_FORMAT, FORMAT_VERSION,
+                COMMIT_TIME, LocalDateTime.now().toString()).entrySet());
+        writer.commit();
+    }
+
+    private static Term idTerm(long storyId) {
+        return new Term(FIELD_ID, String.valueOf(storyId));
+    }
+
+    private Query parse(String queryText) {
+        if (queryText == null || queryText.isBlank()) {
+            throw new BadRequestException("Search query is required");
+        }
+        MultiFieldQueryParser parser = new MultiFieldQueryParser(SEARCH_FIELDS, analyzer, FIELD_BOOSTS);
+        parser.setDefaultOperator(QueryParser.Operator.AND);
+        try {
+            return parser.parse(QueryParser.escape(queryText.trim()));
+        } catch (ParseException e) {
+            throw new BadRequestException("Invalid search query");
+        }
+    }
+
+    private String highlight(Highlighter highlighter, Document doc) {
+        try {
+            String[][] sources = {
+                { FIELD_CONTENT, doc.get(FIELD_EXCERPT) },
+                { FIELD_DESCRIPTION, doc.get(FIELD_DESCRIPTION) },
+                { FIELD_TITLE, doc.get(FIELD_TITLE) } };
+            for (String[] source : sources) {
+                String fragment = highlighter.getBestFragment(analyzer, source[0], source[1]);
+                if (fragment != null) {
+                    return fragment;
+                }
+            }
+        } catch (IOException | InvalidTokenOffsetsException e) {
+            log.warn("Failed to highlight story {}", doc.get(FIELD_ID), e);
+        }
+        // Encoded like the fragments, so the highlight is always safe to render as HTML
+        return SimpleHTMLEncoder.htmlEncode(truncate(doc.get(FIELD_DESCRIPTION), SNIPPET_LENGTH));
+    }
+
+    private static String truncate(String text, int length) {
+        return text.length() > length ? text.substring(0, length) : text;
+    }
+
+    private Document toDocument(Long id, String title, String description, String content, Collection<String> tags) {
+        Document doc = new Document();
+        doc.add(new StringField(FIELD_ID, String.valueOf(id), Field.Store.YES));
+        doc.add(new TextField(FIELD_TITLE, title, Field.Store.YES));
+        doc.add(new TextField(FIELD_DESCRIPTION, description, Field.Store.YES));
+        doc.add(new TextField(FIELD_CONTENT, content, Field.Store.NO));
+        doc.add(new StoredField(FIELD_EXCERPT, truncate(content, EXCERPT_LENGTH)));
+        doc.add(new TextField(FIELD_TAGS, String.join(" ", tags), Field.Store.NO));
+        for (String tag : tags) {
+            doc.add(new StringField(FIELD_TAG, tag, Field.Store.NO));
+        }
+        return doc;
+    }
+
+    private Map<Long, Set<String>> loadTags(List<Long> storyIds) {
+        Map<Long, Set<String>> tags = new HashMap<>();
+        for (Object[] row : storyRepository.findTagsByStoryIds(storyIds)) {
+            tags.computeIfAbsent((Long) row[0], id -> new HashSet<>()).add((String) row[1]);
+        }
+        return tags;
+    }
+
+    private void release(IndexSearcher searcher) {
+        if (searcher == null) {
+            return;
+        }
+        try {
+            searcherManager.release(searcher);
+        } catch (IOException e) {
+            log.warn("Failed to release index searcher", e);
+        }
+    }
+}
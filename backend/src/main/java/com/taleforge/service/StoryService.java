@@ -1,9 +1,17 @@
 package com.taleforge.service;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -12,10 +20,17 @@ import org.springframework.transaction.annotation.Transactional;
 
 import com.taleforge.domain.Story;
 import com.taleforge.domain.User;
+import com.taleforge.dto.CursorPageDTO;
 import com.taleforge.dto.StoryDTO;
+import com.taleforge.dto.StorySearchHitDTO;
+import com.taleforge.dto.StorySummaryDTO;
+import com.taleforge.dto.TagCountDTO;
 import com.taleforge.dto.UserDTO;
+import com.taleforge.event.StoryChangedEvent;
+import com.taleforge.exception.BadRequestException;
 import com.taleforge.exception.ResourceNotFoundException;
 import com.taleforge.repository.StoryRepository;
+import com.taleforge.repository.StorySort;
 import com.taleforge.repository.UserRepository;
 
 import jakarta.persistence.EntityNotFoundException;
@@ -26,17 +41,25 @@ import lombok.extern.slf4j.Slf4j;
 @Service
 @RequiredArgsConstructor
 public class StoryService {
+    private static final int MAX_FEED_PAGE_SIZE = 100;
+    private static final int DIRECT_SORT_LIMIT = 4096;
+    private static final int MATCH_WALK_BATCH_SIZE = 1000;
 
     private final StoryRepository storyRepository;
     private final UserRepository userRepository;
+    private final StorySearchIndex searchIndex;
+    private final StoryLeaderboard leaderboard;
+    private final TagStatsService tagStatsService;
+    private final TagBitmapIndex tagIndex;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional(readOnly = true)
-    public Page<StoryDTO> getStories(String sort, String tag, Pageable pageable) {
+    public Page<StorySummaryDTO> getStories(String sort, String tag, Pageable pageable) {
         if (pageable == null) {
             pageable = PageRequest.of(0, 10);
         }
 
-        Page<Story> stories;
+        Page<StorySummaryDTO> stories;
         Sort sortObj = getSort(sort);
         Pageable pageableWithSort = PageRequest.of(
                 pageable.getPageNumber(),
@@ -45,11 +68,11 @@ public class StoryService {
 
         try {
             if (tag != null && !tag.isEmpty()) {
-                stories = storyRepository.findByTagsContainingAndPublishedTrue(tag, pageableWithSort);
+                stories = storyRepository.findPublishedSummariesByTag(tag, pageableWithSort);
             } else {
-                stories = storyRepository.findByPublishedTrue(pageableWithSort);
+                stories = storyRepository.findPublishedSummaries(pageableWithSort);
             }
-            return stories.map(this::convertToDTO);
+            return withTags(stories);
         } catch (Exception e) {
             log.error("Error fetching stories: ", e);
             throw new RuntimeException("Failed to fetch stories", e);
@@ -57,16 +80,28 @@ public class StoryService {
     }
 
     private Sort getSort(String sort) {
-        if (sort == null) {
-            return Sort.by(Sort.Direction.DESC, "createdAt");
-        }
+        return StorySort.from(sort).toSort();
+    }
 
-        return switch (sort.toLowerCase()) {
-            case "oldest" -> Sort.by(Sort.Direction.ASC, "createdAt");
-            case "popular" -> Sort.by(Sort.Direction.DESC, "views");
-            case "likes" -> Sort.by(Sort.Direction.DESC, "likes");
-            default -> Sort.by(Sort.Direction.DESC, "createdAt");
-        };
+    @Transactional(readOnly = true)
+    public CursorPageDTO<StorySummaryDTO> getStoryFeed(String sort, String tag, String cursor, int size) {
+        int limit = Math.max(1, Math.min(size, MAX_FEED_PAGE_SIZE));
+        StorySort storySort = StorySort.from(sort);
+        StoryCursor position = StoryCursor.decode(cursor, storySort);
+
+        List<StorySummaryDTO> rows = storyRepository.findPublishedSummariesAfter(
+                storySort,
+                tag != null && !tag.isEmpty() ? tag : null,
+                position.lastValue(),
+                position.lastId(),
+                limit + 1);
+
+        boolean hasMore = rows.size() > limit;
+        List<StorySummaryDTO> items = hasMore ? rows.subList(0, limit) : rows;
+        attachTags(items);
+
+        String nextCursor = hasMore ? StoryCursor.after(storySort, items.get(items.size() - 1)).encode() : null;
+        return new CursorPageDTO<>(items, nextCursor, hasMore);
     }
 
     @Transactional(readOnly = true)
@@ -98,8 +133,6 @@ public class StoryService {
                     .description(storyDTO.getDescription())
                     .content(storyDTO.getContent())
                     .published(false)
-                    .views(0)
-                    .likes(0)
                     .tags(storyDTO.getTags() != null ? storyDTO.getTags() : new HashSet<>())
                     .comments(new HashSet<>())
                     .author(author)
@@ -107,6 +140,7 @@ public class StoryService {
 
             Story savedStory = storyRepository.save(story);
             log.info("Story saved successfully with id: {}", savedStory.getId());
+            eventPublisher.publishEvent(StoryChangedEvent.of(StoryChangedEvent.Type.CREATED, savedStory));
 
             return convertToDTO(savedStory);
         } catch (Exception e) {
@@ -124,8 +158,12 @@ public class StoryService {
             throw new IllegalStateException("User is not authorized to update this story");
         }
 
+        Set<String> publishedTags = publishedTags(story);
         updateStoryFromDTO(story, storyDTO);
-        return convertToDTO(storyRepository.save(story));
+        Story savedStory = storyRepository.save(story);
+        tagStatsService.recordChange(publishedTags, publishedTags(savedStory));
+        eventPublisher.publishEvent(StoryChangedEvent.of(StoryChangedEvent.Type.UPDATED, savedStory));
+        return convertToDTO(savedStory);
     }
 
     @Transactional
@@ -137,7 +175,11 @@ public class StoryService {
             throw new IllegalStateException("User is not authorized to delete this story");
         }
 
+        tagStatsService.recordChange(publishedTags(story), Set.of());
+        storyRepository.deleteChapterBodies(id);
+        storyRepository.deleteChapters(id);
         storyRepository.delete(story);
+        eventPublisher.publishEvent(StoryChangedEvent.of(StoryChangedEvent.Type.DELETED, story));
     }
 
     @Transactional
@@ -149,8 +191,11 @@ public class StoryService {
             throw new IllegalStateException("User is not authorized to publish this story");
         }
 
+        Set<String> publishedTags = publishedTags(story);
         story.setPublished(true);
         Story savedStory = storyRepository.save(story);
+        tagStatsService.recordChange(publishedTags, publishedTags(savedStory));
+        eventPublisher.publishEvent(StoryChangedEvent.of(StoryChangedEvent.Type.PUBLISHED, savedStory));
         return convertToDTO(savedStory);
     }
 
@@ -163,18 +208,11 @@ public class StoryService {
             throw new IllegalStateException("User is not authorized to unpublish this story");
         }
 
+        Set<String> publishedTags = publishedTags(story);
         story.setPublished(false);
         Story savedStory = storyRepository.save(story);
-        return convertToDTO(savedStory);
-    }
-
-    @Transactional
-    public StoryDTO incrementViews(Long id) {
-        Story story = storyRepository.findById(id)
-                .orElseThrow(() -> new EntityNotFoundException("Story not found with id: " + id));
-
-        story.setViews(story.getViews() + 1);
-        Story savedStory = storyRepository.save(story);
+        tagStatsService.recordChange(publishedTags, publishedTags(savedStory));
+        eventPublisher.publishEvent(StoryChangedEvent.of(StoryChangedEvent.Type.UNPUBLISHED, savedStory));
         return convertToDTO(savedStory);
     }
 
@@ -192,6 +230,7 @@ public class StoryService {
         dto.setPublished(story.isPublished());
         dto.setViews(story.getViews());
         dto.setLikes(story.getLikes());
+        dto.setChapterCount(story.getChaptersCount());
         dto.setTags(story.getTags() != null ? story.getTags() : new HashSet<>());
         dto.setCreatedAt(story.getCreatedAt());
         dto.setUpdatedAt(story.getUpdatedAt());
@@ -207,6 +246,10 @@ public class StoryService {
         return dto;
     }
 
+    private static Set<String> publishedTags(Story story) {
+        return story.isPublished() && story.getTags() != null ? Set.copyOf(story.getTags()) : Set.of();
+    }
+
     private void updateStoryFromDTO(Story story, StoryDTO dto) {
         story.setTitle(dto.getTitle());
         story.setDescription(dto.getDescription());
@@ -215,8 +258,29 @@ public class StoryService {
     }
 
     @Transactional(readOnly = true)
-    public Page<StoryDTO> getAllStories(Pageable pageable) {
-        return storyRepository.findAll(pageable).map(this::convertToDTO);
+    public Page<StorySummaryDTO> getAllStories(Pageable pageable) {
+        return withTags(storyRepository.findAllSummaries(pageable));
+    }
+
+    private Page<StorySummaryDTO> withTags(Page<StorySummaryDTO> page) {
+        attachTags(page.getContent());
+        return page;
+    }
+
+    private void attachTags(List<StorySummaryDTO> summaries) {
+        if (summaries.isEmpty()) {
+            return;
+        }
+
+        Map<Long, StorySummaryDTO> byId = new HashMap<>();
+        summaries.forEach(summary -> byId.put(summary.getId(), summary));
+        for (Object[] row : storyRepository.findTagsByStoryIds(byId.keySet())) {
+            byId.get((Long) row[0]).getTags().add((String) row[1]);
+        }
+    }
+
+    public List<TagCountDTO> getTagFacets(int limit) {
+        return tagStatsService.getTagFacets(limit);
     }
 
     @Transactional(readOnly = true)
@@ -234,28 +298,118 @@ public class StoryService {
                 .toList();
     }
 
+    /**
+     * Published stories matching a boolean tag query, e.g.
+     * {@code fantasy AND mystery NOT horror}, in the requested order. The tag
+     * index supplies the matches and the database the order: small match sets
+     * are sorted and paged in one query, broad ones are collected by reading
+     * published ids in sort order and skipping the stories that do not match.
+     */
     @Transactional(readOnly = true)
-    public List<StoryDTO> getTopStories(String sortBy) {
-        Sort sort = getSort(sortBy);
-        return storyRepository.findAll(sort)
-                .stream()
-                .limit(10)
-                .map(this::convertToDTO)
-                .toList();
+    public Page<StorySummaryDTO> filterByTags(String query, String sort, int page, int size) {
+        StorySort storySort = StorySort.from(sort);
+        if (storySort == StorySort.TRENDING) {
+            throw new BadRequestException("Tag queries support the newest, oldest, popular and likes sorts");
+        }
+        int pageSize = Math.max(1, Math.min(size, MAX_FEED_PAGE_SIZE));
+        int pageNumber = Math.max(page, 0);
+        int offset = offset(pageNumber, pageSize);
+
+        RoaringBitmap matches = tagIndex.query(query);
+        long total = matches.getLongCardinality();
+        if (offset >= total) {
+            return new PageImpl<>(List.of(), PageRequest.of(pageNumber, pageSize), total);
+        }
+
+        List<StorySummaryDTO> content;
+        if (total <= DIRECT_SORT_LIMIT) {
+            List<Long> ids = new ArrayList<>(matches.getCardinality());
+            matches.forEach((int id) -> ids.add(Integer.toUnsignedLong(id)));
+            content = storyRepository.findPublishedSummariesByIds(ids,
+                    PageRequest.of(pageNumber, pageSize, storySort.toSort()));
+        } else {
+            long expectedWalk = (offset + (long) pageSize) * Math.max(tagIndex.publishedCount(), 1L) / total;
+            // Twice the expected walk, so one read usually covers the page
+            int batchSize = (int) Math.min(MATCH_WALK_BATCH_SIZE, Math.max(2 * expectedWalk, pageSize));
+            content = walkMatches(storySort, matches, offset, pageSize, batchSize);
+        }
+        attachTags(content);
+        return new PageImpl<>(content, PageRequest.of(pageNumber, pageSize), total);
     }
 
-    @Transactional(readOnly = true)
-    public List<Story> getAllStories() {
-        return storyRepository.findAll();
+    private List<StorySummaryDTO> walkMatches(StorySort sort, RoaringBitmap matches, int offset, int size,
+            int batchSize) {
+        List<Long> ids = new ArrayList<>(size);
+        int skipped = 0;
+        List<Long> batch;
+        int batchNumber = 0;
+        do {
+            batch = storyRepository.findPublishedIds(
+                    PageRequest.of(batchNumber++, batchSize, sort.toSort()));
+            for (Long id : batch) {
+                if (ids.size() == size) {
+                    break;
+                }
+                if (!matches.contains(Math.toIntExact(id))) {
+                    continue;
+                }
+                if (skipped < offset) {
+                    skipped++;
+                } else {
+                    ids.add(id);
+                }
+            }
+        } while (ids.size() < size && batch.size() == batchSize);
+
+        Map<Long, StorySummaryDTO> byId = new HashMap<>();
+        if (!ids.isEmpty()) {
+            storyRepository.findPublishedSummariesByIds(ids).forEach(summary -> byId.put(summary.getId(), summary));
+        }
+        return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+    }
+
+    public List<StorySummaryDTO> getTopStories(String sortBy, String tag, int limit) {
+        return leaderboard.top(StorySort.from(sortBy), tag, Math.max(1, Math.min(limit, MAX_FEED_PAGE_SIZE)));
     }
 
+    /**
+     * Ranks published stories against the search index, then hydrates the
+     * current page's summaries in one query while keeping the index order.
+     */
     @Transactional(readOnly = true)
-    public List<Story> searchStories(String query) {
-        return storyRepository.findByTitleContainingIgnoreCaseOrDescriptionContainingIgnoreCase(query, query);
+    public Page<StorySearchHitDTO> searchStories(String query, String tag, int page, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_FEED_PAGE_SIZE));
+        int pageNumber = Math.max(page, 0);
+        StorySearchIndex.Result result = searchIndex.search(query, tag, pageNumber, pageSize);
+
+        Map<Long, StorySummaryDTO> summaries = new HashMap<>();
+        if (!result.hits().isEmpty()) {
+            List<Long> ids = result.hits().stream().map(StorySearchIndex.Hit::storyId).toList();
+            List<StorySummaryDTO> found = storyRepository.findPublishedSummariesByIds(ids);
+            attachTags(found);
+            found.forEach(summary -> summaries.put(summary.getId(), summary));
+        }
+
+        List<StorySearchHitDTO> hits = new ArrayList<>();
+        for (StorySearchIndex.Hit hit : result.hits()) {
+            StorySummaryDTO summary = summaries.get(hit.storyId());
+            if (summary != null) {
+                hits.add(new StorySearchHitDTO(summary, hit.score(), hit.highlight()));
+            }
+        }
+        return new PageImpl<>(hits, PageRequest.of(pageNumber, pageSize), result.totalHits());
     }
 
     @Transactional(readOnly = true)
     public List<Story> getStoriesByTag(String tag) {
         return storyRepository.findByTagsContaining(tag);
     }
-}
\ No newline at end of file
+
+    private static int offset(int page, int size) {
+        try {
+            return Math.multiplyExact(page, size);
+        } catch (ArithmeticException e) {
+            throw new BadRequestException("Page " + page + " is out of range");
+        }
+    }
+}
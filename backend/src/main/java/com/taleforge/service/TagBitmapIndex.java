@@ -0,0 +1,159 @@
+package com.taleforge.service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.taleforge.event.StoryChangedEvent;
+import com.taleforge.repository.StoryRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Dictionary-encoded tag index: every tag maps to an id, and every id to a
+ * compressed bitmap of the published stories carrying it. Bitmaps are never
+ * mutated once visible; writers copy the ones they touch and publish a new
+ * {@link State}, so queries evaluate against a consistent snapshot without
+ * locking. Writers are serialized by a {@link Lock} rather than a monitor, so
+ * a rebuild reading from the database does not pin virtual threads waiting
+ * behind it.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TagBitmapIndex {
+    private static final int REBUILD_BATCH_SIZE = 1000;
+    private static final RoaringBitmap EMPTY = new RoaringBitmap();
+
+    private final StoryRepository storyRepository;
+    private final Lock writeLock = new ReentrantLock();
+    private volatile State state = new State(Map.of(), Map.of(), new RoaringBitmap());
+
+    private record State(Map<String, Integer> dictionary, Map<Integer, RoaringBitmap> postings,
+            RoaringBitmap published) {
+
+        RoaringBitmap postingsFor(String tag) {
+            Integer tagId = dictionary.get(tag);
+            return tagId == null ? EMPTY : postings.get(tagId);
+        }
+    }
+
+    /**
+     * Ids of the published stories matching a boolean tag query.
+     */
+    public RoaringBitmap query(String expression) {
+        State current = state;
+        return TagExpression.evaluate(expression, current::postingsFor, current.published());
+    }
+
+    public long publishedCount() {
+        return state.published().getLongCardinality();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        writeLock.lock();
+        try {
+            long started = System.currentTimeMillis();
+            Map<String, Integer> dictionary = new HashMap<>();
+            Map<Integer, RoaringBitmap> postings = new HashMap<>();
+            RoaringBitmap published = new RoaringBitmap();
+
+            long afterId = 0;
+            List<Object[]> batch;
+            do {
+                batch = storyRepository.findPublishedRankingsAfter(afterId, PageRequest.of(0, REBUILD_BATCH_SIZE));
+                if (batch.isEmpty()) {
+                    break;
+                }
+                List<Long> ids = batch.stream().map(row -> (Long) row[0]).toList();
+                ids.forEach(id -> published.add(toIndexId(id)));
+                for (Object[] row : storyRepository.findTagsByStoryIds(ids)) {
+                    int tagId = dictionary.computeIfAbsent((String) row[1], tag -> dictionary.size());
+                    postings.computeIfAbsent(tagId, id -> new RoaringBitmap()).add(toIndexId((Long) row[0]));
+                }
+                afterId = ids.get(ids.size() - 1);
+            } while (batch.size() == REBUILD_BATCH_SIZE);
+
+            postings.values().forEach(RoaringBitmap::runOptimize);
+            published.runOptimize();
+            state = new State(dictionary, postings, published);
+            log.info("Rebuilt tag bitmap index with {} tags over {} stories in {} ms", dictionary.size(),
+                    published.getCardinality(), System.currentTimeMillis() - started);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStoryChanged(StoryChangedEvent event) {
+        writeLock.lock();
+        try {
+            int storyId = toIndexId(event.storyId());
+            Set<String> tags = event.published() ? event.tags() : Set.of();
+            State current = state;
+
+            Map<String, Integer> dictionary = current.dictionary();
+            Map<Integer, RoaringBitmap> postings = new HashMap<>(current.postings());
+            current.dictionary().forEach((tag, tagId) -> {
+                RoaringBitmap bitmap = postings.get(tagId);
+                if (!tags.contains(tag) && bitmap.contains(storyId)) {
+                    postings.put(tagId, without(bitmap, storyId));
+                }
+            });
+            for (String tag : tags) {
+                Integer tagId = dictionary.get(tag);
+                if (tagId == null) {
+                    if (dictionary == current.dictionary()) {
+                        dictionary = new HashMap<>(dictionary);
+                    }
+                    tagId = dictionary.size();
+                    dictionary.put(tag, tagId);
+                }
+                RoaringBitmap bitmap = postings.getOrDefault(tagId, EMPTY);
+                if (!bitmap.contains(storyId)) {
+                    RoaringBitmap copy = bitmap.clone();
+                    copy.add(storyId);
+                    postings.put(tagId, copy);
+                }
+            }
+
+            RoaringBitmap published = current.published();
+            if (event.published() != published.contains(storyId)) {
+                published = event.published() ? with(published, storyId) : without(published, storyId);
+            }
+            state = new State(dictionary, postings, published);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private static RoaringBitmap with(RoaringBitmap bitmap, int storyId) {
+        RoaringBitmap copy = bitmap.clone();
+        copy.add(storyId);
+        return copy;
+    }
+
+    private static RoaringBitmap without(RoaringBitmap bitmap, int storyId) {
+        RoaringBitmap copy = bitmap.clone();
+        copy.remove(storyId);
+        return copy;
+    }
+
+    // Story ids come from story_sequence in pooled blocks, gaps and all, but stay well inside 32 bits,
+    // which keeps the bitmaps on the fast path
+    private static int toIndexId(Long storyId) {
+        return Math.toIntExact(storyId);
+    }
+}
@@ -0,0 +1,149 @@
+package com.taleforge.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.roaringbitmap.RoaringBitmap;
+
+import com.taleforge.exception.BadRequestException;
+
+/**
+ * Boolean tag query such as {@code fantasy AND mystery NOT horror}. Operators
+ * are upper case; {@code NOT} binds tightest, then {@code AND} (also implied
+ * between adjacent terms, and {@code a NOT b} reads as {@code a AND NOT b}),
+ * then {@code OR}. Parentheses group, and they and {@code NOT} nest at most
+ * {@value #MAX_DEPTH} deep so a hostile query cannot exhaust the stack.
+ */
+final class TagExpression {
+    private static final int MAX_TERMS = 32;
+    private static final int MAX_DEPTH = 16;
+
+    private final List<String> tokens;
+    private final Function<String, RoaringBitmap> postings;
+    private final RoaringBitmap universe;
+    private int position;
+    private int terms;
+    private int depth;
+
+    private TagExpression(List<String> tokens, Function<String, RoaringBitmap> postings, RoaringBitmap universe) {
+        this.tokens = tokens;
+        this.postings = postings;
+        this.universe = universe;
+    }
+
+    /**
+     * Evaluates the query to the set of matching story ids. {@code postings}
+     * returns the bitmap of a tag, and {@code universe} is what {@code NOT}
+     * complements against.
+     */
+    static RoaringBitmap evaluate(String query, Function<String, RoaringBitmap> postings, RoaringBitmap universe) {
+        List<String> tokens = tokenize(query);
+        if (tokens.isEmpty()) {
+            throw new BadRequestException("Tag query is required");
+        }
+        TagExpression expression = new TagExpression(tokens, postings, universe);
+        RoaringBitmap result = expression.parseOr();
+        if (expression.position != tokens.size()) {
+            throw new BadRequestException("Unexpected '" + tokens.get(expression.position) + "' in tag query");
+        }
+        return result;
+    }
+
+    private RoaringBitmap parseOr() {
+        RoaringBitmap result = parseAnd();
+        while (accept("OR")) {
+            result = RoaringBitmap.or(result, parseAnd());
+        }
+        return result;
+    }
+
+    private RoaringBitmap parseAnd() {
+        RoaringBitmap result = parseUnary();
+        while (position < tokens.size() && !peek("OR") && !peek(")")) {
+            if (accept("AND")) {
+                result = RoaringBitmap.and(result, parseUnary());
+            } else if (accept("NOT")) {
+                result = RoaringBitmap.andNot(result, parseUnary());
+            } else {
+                result = RoaringBitmap.and(result, parseUnary());
+            }
+        }
+        return result;
+    }
+
+    private RoaringBitmap parseUnary() {
+        if (position >= tokens.size()) {
+            throw new BadRequestException("Incomplete tag query");
+        }
+        if (accept("NOT")) {
+            return RoaringBitmap.andNot(universe, nested(this::parseUnary));
+        }
+        if (accept("(")) {
+            RoaringBitmap result = nested(this::parseOr);
+            if (!accept(")")) {
+                throw new BadRequestException("Missing ')' in tag query");
+            }
+            return result;
+        }
+
+        String token = tokens.get(position);
+        if (token.equals(")") || token.equals("AND") || token.equals("OR")) {
+            throw new BadRequestException("Unexpected '" + token + "' in tag query");
+        }
+        if (++terms > MAX_TERMS) {
+            throw new BadRequestException("Tag query may reference at most " + MAX_TERMS + " tags");
+        }
+        position++;
+        return postings.apply(token);
+    }
+
+    private RoaringBitmap nested(Supplier<RoaringBitmap> parser) {
+        if (++depth > MAX_DEPTH) {
+            throw new BadRequestException("Tag query may nest at most " + MAX_DEPTH + " levels");
+        }
+        try {
+            return parser.get();
+        } finally {
+            depth--;
+        }
+    }
+
+    private boolean peek(String token) {
+        return position < tokens.size() && tokens.get(position).equals(token);
+    }
+
+    private boolean accept(String token) {
+        if (peek(token)) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    private static List<String> tokenize(String query) {
+        List<String> tokens = new ArrayList<>();
+        if (query == null) {
+            return tokens;
+        }
+        StringBuilder current = new StringBuilder();
+        for (char c : query.toCharArray()) {
+            if (Character.isWhitespace(c) || c == '(' || c == ')') {
+                if (!current.isEmpty()) {
+                    tokens.add(current.toString());
+                    current.setLength(0);
+                }
+                if (c == '(' || c == ')') {
+                    tokens.add(String.valueOf(c));
+                }
+            } else {
+                current.append(c);
+            }
+        }
+        if (!current.isEmpty()) {
+            tokens.add(current.toString());
+        }
+        return tokens;
+    }
+}
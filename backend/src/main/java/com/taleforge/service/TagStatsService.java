@@ -0,0 +1,85 @@
+package com.taleforge.service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.taleforge.dto.TagCountDTO;
+import com.taleforge.repository.TagStatRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TagStatsService {
+    private static final int MAX_FACETS = 500;
+
+    private final TagStatRepository tagStatRepository;
+
+    @Value("${tags.rebuild-on-startup:true}")
+    private boolean rebuildOnStartup;
+
+    @Transactional(readOnly = true)
+    public List<TagCountDTO> getTagFacets(int limit) {
+        return tagStatRepository.findTopTags(PageRequest.of(0, Math.max(1, Math.min(limit, MAX_FACETS))));
+    }
+
+    /**
+     * Moves the counts of a story from the tags it was published under to the
+     * ones it is published under now. Runs inside the story write so counts
+     * commit or roll back with it; tags are touched in sorted order to keep
+     * row locks ordered across concurrent writers.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordChange(Set<String> publishedBefore, Set<String> publishedAfter) {
+        Set<String> removed = new TreeSet<>(publishedBefore);
+        removed.removeAll(publishedAfter);
+        Set<String> added = new TreeSet<>(publishedAfter);
+        added.removeAll(publishedBefore);
+
+        if (!removed.isEmpty()) {
+            tagStatRepository.adjust(removed, -1);
+        }
+        if (!added.isEmpty()) {
+            added.forEach(tagStatRepository::insertIfAbsent);
+            tagStatRepository.adjust(added, 1);
+        }
+    }
+
+    /**
+     * Adds a batch of newly published stories to the counts, given how many of
+     * them carry each tag. Tags with the same count share one update.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordAdded(Map<String, Integer> storiesByTag) {
+        Map<Integer, Set<String>> tagsByDelta = new TreeMap<>();
+        new TreeMap<>(storiesByTag).forEach((tag, stories) -> {
+            tagStatRepository.insertIfAbsent(tag);
+            tagsByDelta.computeIfAbsent(stories, delta -> new TreeSet<>()).add(tag);
+        });
+        tagsByDelta.forEach((delta, tags) -> tagStatRepository.adjust(tags, delta));
+    }
+
+    @Transactional
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        if (!rebuildOnStartup) {
+            return;
+        }
+        tagStatRepository.deleteAllInBatch();
+        int tags = tagStatRepository.insertPublishedCounts();
+        log.info("Rebuilt published story counts for {} tags", tags);
+    }
+}
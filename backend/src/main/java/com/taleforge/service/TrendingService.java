@@ -0,0 +1,445 @@
+package com.taleforge.service;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.taleforge.event.StoryChangedEvent;
+import com.taleforge.event.StoryStatsChangedEvent;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Maintains {@code stories.trending_score}, a time-decayed engagement score
+ * {@code (views * wv + likes * wl + comments * wc) / (ageHours + 2)^gravity}.
+ * A scheduled rebuild recomputes every published story in parallel against a
+ * single reference instant. Between rebuilds each engagement event adds its
+ * weight decayed to that same instant, so scores stay comparable, and the
+ * deltas are written behind in batches to the indexed column the feed sorts on.
+ * <p>
+ * The rebuild reads the catalogue in keyset batches and rewrites only scores
+ * that moved by more than {@code trending.rebuild-epsilon} of their value, so
+ * the long tail of old stories is left alone. Events that arrive while it runs
+ * are held back and applied with the new decay factors once it is done; events
+ * for stories it has yet to read are dropped, since the read will include them.
+ */
+@Slf4j
+@Service
+public class TrendingService implements MeterBinder {
+    private static final String ADD_SQL = "UPDATE stories SET trending_score = trending_score + ? WHERE id = ?";
+    private static final String SET_SQL = "UPDATE stories SET trending_score = ? WHERE id = ?";
+    private static final String RANKINGS_SQL = "SELECT id, views, likes, comments_count, created_at, trending_score "
+            + "FROM stories WHERE published = TRUE AND id > ? ORDER BY id LIMIT ?";
+    private static final int BATCH_SIZE = 1000;
+    private static final int READ_BATCH_SIZE = 10_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ContentVersions contentVersions;
+    private final double viewWeight;
+    private final double likeWeight;
+    private final double commentWeight;
+    private final double gravity;
+    private final double rebuildEpsilon;
+
+    private final Map<Long, DoubleAdder> pendingDeltas = new ConcurrentHashMap<>();
+    private final Map<Long, Double> pendingScores = new ConcurrentHashMap<>();
+    private final Lock rebuildLock = new ReentrantLock();
+    private final ReadWriteLock eventLock = new ReentrantReadWriteLock();
+    private final AtomicLong flushedUpdates = new AtomicLong();
+    private final AtomicLong failedFlushes = new AtomicLong();
+    private final AtomicLong lastRebuildMillis = new AtomicLong();
+    private final AtomicLong failedRebuilds = new AtomicLong();
+    private volatile LocalDateTime reference = LocalDateTime.now();
+    private volatile Map<Long, Double> decayFactors = new ConcurrentHashMap<>();
+    // Guarded by eventLock: non-null while a rebuild holds events back
+    private Queue<Deferred> deferred;
+    private volatile long scannedThrough;
+
+    private record Deferred(Object event, boolean scanned) {
+    }
+
+    public TrendingService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+            ContentVersions contentVersions,
+            @Value("${trending.view-weight:1.0}") double viewWeight,
+            @Value("${trending.like-weight:4.0}") double likeWeight,
+            @Value("${trending.comment-weight:8.0}") double commentWeight,
+            @Value("${trending.gravity:1.5}") double gravity,
+            @Value("${trending.rebuild-epsilon:0.01}") double rebuildEpsilon) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.contentVersions = contentVersions;
+        this.viewWeight = viewWeight;
+        this.likeWeight = likeWeight;
+        this.commentWeight = commentWeight;
+        this.gravity = gravity;
+        this.rebuildEpsilon = rebuildEpsilon;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStoryStatsChanged(StoryStatsChangedEvent event) {
+        if (!defer(event, event.storyId())) {
+            applyStats(event);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStoryChanged(StoryChangedEvent event) {
+        if (!defer(event, event.storyId())) {
+            applyStory(event);
+        }
+    }
+
+    private void applyStats(StoryStatsChangedEvent event) {
+        Double factor = decayFactors.get(event.storyId());
+        if (factor == null) {
+            return;
+        }
+        double delta = engagement(event.viewsDelta(), event.likesDelta(), event.commentsDelta()) * factor;
+        if (delta != 0) {
+            pendingDeltas.computeIfAbsent(event.storyId(), id -> new DoubleAdder()).add(delta);
+        }
+    }
+
+    private void applyStory(StoryChangedEvent event) {
+        Long storyId = event.storyId();
+        if (!event.published()) {
+            decayFactors.remove(storyId);
+            pendingDeltas.remove(storyId);
+            pendingScores.remove(storyId);
+            return;
+        }
+        if (decayFactors.containsKey(storyId) || event.createdAt() == null) {
+            return;
+        }
+
+        double factor = decayFactor(ageHours(event.createdAt(), reference));
+        decayFactors.put(storyId, factor);
+        pendingDeltas.remove(storyId);
+        pendingScores.put(storyId, engagement(event.views(), event.likes(), event.comments()) * factor);
+    }
+
+    @Scheduled(fixedDelayString = "${trending.flush-interval-ms:10000}")
+    public void flush() {
+        Map<Long, Double> scores = new TreeMap<>();
+        pendingScores.keySet().forEach(id -> {
+            Double score = pendingScores.remove(id);
+            if (score != null) {
+                scores.put(id, score);
+            }
+        });
+        Map<Long, Double> deltas = drainDeltas();
+        if (scores.isEmpty() && deltas.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                write(SET_SQL, toRows(scores));
+                write(ADD_SQL, toRows(deltas));
+            });
+        } catch (RuntimeException e) {
+            log.error("Failed to flush trending scores for {} stories and deltas for {}, re-queueing",
+                    scores.size(), deltas.size(), e);
+            failedFlushes.incrementAndGet();
+            requeue(scores, deltas);
+            throw e;
+        }
+        flushedUpdates.addAndGet(scores.size() + deltas.size());
+        log.debug("Flushed trending scores for {} stories and deltas for {}", scores.size(), deltas.size());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        rebuild();
+    }
+
+    /**
+     * Recomputes every published story's score at a fresh reference instant.
+     * Each keyset batch is scored across the common fork/join pool, and the
+     * scores that moved are written back in JDBC batches.
+     */
+    @Scheduled(initialDelayString = "${trending.rebuild-interval-ms:900000}",
+            fixedDelayString = "${trending.rebuild-interval-ms:900000}")
+    public void rebuild() {
+        rebuildLock.lock();
+        startDeferring();
+        boolean rebuilt = false;
+        try {
+            long started = System.currentTimeMillis();
+            LocalDateTime now = LocalDateTime.now();
+            // Deltas decayed to the old reference must land before the scores are replaced
+            flush();
+
+            Map<Long, Double> nextFactors = new ConcurrentHashMap<>(Math.max(decayFactors.size() * 2, 16));
+            int written = 0;
+            Batch batch = new Batch(READ_BATCH_SIZE);
+            long afterId = 0;
+            do {
+                batch.read(afterId, now);
+                if (batch.size == 0) {
+                    break;
+                }
+                ForkJoinPool.commonPool().invoke(new ScoreTask(batch, 0, batch.size));
+                List<Object[]> changed = new ArrayList<>();
+                for (int i = 0; i < batch.size; i++) {
+                    nextFactors.put(batch.ids[i], batch.factors[i]);
+                    if (Math.abs(batch.scores[i] - batch.stored[i]) > rebuildEpsilon * Math.abs(batch.scores[i])) {
+                        changed.add(new Object[] { batch.scores[i], batch.ids[i] });
+                    }
+                }
+                write(SET_SQL, changed);
+                written += changed.size();
+                afterId = batch.ids[batch.size - 1];
+                scannedThrough = afterId;
+            } while (batch.size == READ_BATCH_SIZE);
+
+            finishDeferring(() -> {
+                reference = now;
+                decayFactors = nextFactors;
+            }, true);
+            rebuilt = true;
+            contentVersions.feedsReordered();
+            lastRebuildMillis.set(System.currentTimeMillis() - started);
+            log.info("Rebuilt trending scores for {} stories in {} ms, {} changed", nextFactors.size(),
+                    lastRebuildMillis.get(), written);
+        } catch (RuntimeException e) {
+            failedRebuilds.incrementAndGet();
+            log.error("Failed to rebuild trending scores", e);
+        } finally {
+            if (!rebuilt) {
+                // The old factors stay, so every held event applies against them
+                finishDeferring(() -> { }, false);
+            }
+            rebuildLock.unlock();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("trending.pending", this, service -> service.pendingDeltas.size() + service.pendingScores.size())
+                .description("Stories with a score change not yet written")
+                .register(registry);
+        FunctionCounter.builder("trending.flushed", flushedUpdates, AtomicLong::get)
+                .register(registry);
+        FunctionCounter.builder("trending.flush.failures", failedFlushes, AtomicLong::get)
+                .register(registry);
+        TimeGauge.builder("trending.rebuild.duration", lastRebuildMillis, TimeUnit.MILLISECONDS, AtomicLong::get)
+                .description("Duration of the last completed rebuild")
+                .register(registry);
+        FunctionCounter.builder("trending.rebuild.failures", failedRebuilds, AtomicLong::get)
+                .register(registry);
+    }
+
+    private double engagement(long views, long likes, long comments) {
+        return views * viewWeight + likes * likeWeight + comments * commentWeight;
+    }
+
+    private double decayFactor(double ageHours) {
+        return 1.0 / Math.pow(ageHours + 2, gravity);
+    }
+
+    private static double ageHours(LocalDateTime createdAt, LocalDateTime at) {
+        return Math.max(Duration.between(createdAt, at).toMillis(), 0) / 3_600_000.0;
+    }
+
+    /**
+     * Holds the event back if a rebuild is running. It is marked as already
+     * scanned when the rebuild has read past the story, so its read missed it.
+     * An event that arrives while its story's batch is being read counts as
+     * seen by that read.
+     */
+    private boolean defer(Object event, Long storyId) {
+        eventLock.readLock().lock();
+        try {
+            if (deferred == null) {
+                return false;
+            }
+            deferred.add(new Deferred(event, storyId <= scannedThrough));
+            return true;
+        } finally {
+            eventLock.readLock().unlock();
+        }
+    }
+
+    private void startDeferring() {
+        eventLock.writeLock().lock();
+        try {
+            scannedThrough = 0;
+            deferred = new ConcurrentLinkedQueue<>();
+        } finally {
+            eventLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Swaps in the rebuilt state and applies the held events against it.
+     * With {@code rebuilt} false nothing was replaced and every event applies;
+     * otherwise stats of stories read after the event are already in the new
+     * scores. Story events always apply, since they only touch factors.
+     */
+    private void finishDeferring(Runnable swap, boolean rebuilt) {
+        eventLock.writeLock().lock();
+        try {
+            swap.run();
+            for (Deferred held : deferred) {
+                if (held.event() instanceof StoryChangedEvent story) {
+                    applyStory(story);
+                } else if (!rebuilt || held.scanned()) {
+                    applyStats((StoryStatsChangedEvent) held.event());
+                }
+            }
+        } finally {
+            deferred = null;
+            eventLock.writeLock().unlock();
+        }
+    }
+
+    private Map<Long, Double> drainDeltas() {
+        Map<Long, Double> deltas = new TreeMap<>();
+        pendingDeltas.forEach((id, adder) -> {
+            double delta = adder.sumThenReset();
+            if (delta != 0) {
+                deltas.put(id, delta);
+            } else if (pendingDeltas.remove(id, adder)) {
+                double late = adder.sumThenReset();
+                if (late != 0) {
+                    deltas.put(id, late);
+                }
+            }
+        });
+        return deltas;
+    }
+
+    /**
+     * Puts back what a failed flush drained. A score queued since then is newer
+     * and replaces the drained score and deltas alike; stories no longer
+     * published are left out.
+     */
+    private void requeue(Map<Long, Double> scores, Map<Long, Double> deltas) {
+        Set<Long> superseded = new HashSet<>(pendingScores.keySet());
+        Map<Long, Double> factors = decayFactors;
+        scores.forEach((id, score) -> {
+            if (factors.containsKey(id)) {
+                pendingScores.putIfAbsent(id, score);
+            }
+        });
+        deltas.forEach((id, delta) -> {
+            if (factors.containsKey(id) && !superseded.contains(id)) {
+                pendingDeltas.computeIfAbsent(id, key -> new DoubleAdder()).add(delta);
+            }
+        });
+    }
+
+    private static List<Object[]> toRows(Map<Long, Double> values) {
+        List<Object[]> rows = new ArrayList<>(values.size());
+        values.forEach((id, value) -> rows.add(new Object[] { value, id }));
+        return rows;
+    }
+
+    private void write(String sql, List<Object[]> rows) {
+        for (int from = 0; from < rows.size(); from += BATCH_SIZE) {
+            jdbcTemplate.batchUpdate(sql, rows.subList(from, Math.min(from + BATCH_SIZE, rows.size())));
+        }
+    }
+
+    /**
+     * One keyset batch of published stories in primitive arrays, reused for
+     * every batch of a rebuild.
+     */
+    private final class Batch {
+        final long[] ids;
+        final double[] engagement;
+        final double[] ages;
+        final double[] stored;
+        final double[] factors;
+        final double[] scores;
+        int size;
+
+        Batch(int capacity) {
+            ids = new long[capacity];
+            engagement = new double[capacity];
+            ages = new double[capacity];
+            stored = new double[capacity];
+            factors = new double[capacity];
+            scores = new double[capacity];
+        }
+
+        void read(long afterId, LocalDateTime now) {
+            size = 0;
+            jdbcTemplate.query(RANKINGS_SQL, (RowCallbackHandler) row -> add(row, now), afterId, ids.length);
+        }
+
+        private void add(ResultSet row, LocalDateTime now) throws SQLException {
+            Timestamp createdAt = row.getTimestamp(5);
+            ids[size] = row.getLong(1);
+            engagement[size] = engagement(row.getLong(2), row.getLong(3), row.getLong(4));
+            ages[size] = createdAt != null ? ageHours(createdAt.toLocalDateTime(), now) : 0;
+            stored[size] = row.getDouble(6);
+            size++;
+        }
+    }
+
+    private final class ScoreTask extends RecursiveAction {
+        private static final int THRESHOLD = 4096;
+
+        private final Batch batch;
+        private final int from;
+        private final int to;
+
+        ScoreTask(Batch batch, int from, int to) {
+            this.batch = batch;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= THRESHOLD) {
+                for (int i = from; i < to; i++) {
+                    batch.factors[i] = decayFactor(batch.ages[i]);
+                    batch.scores[i] = batch.engagement[i] * batch.factors[i];
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new ScoreTask(batch, from, mid), new ScoreTask(batch, mid, to));
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.taleforge.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.taleforge.event.StoryStatsChangedEvent;
+import com.taleforge.exception.ServiceUnavailableException;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Write-behind aggregator for story views. Page views only bump an in-memory
+ * counter; a scheduled flush folds all pending deltas into a single JDBC batch
+ * of relative {@code views = views + ?} updates; ids without a row simply
+ * match nothing. At most {@code views.max-pending-stories} stories are held:
+ * a view of one more flushes early, and is rejected with {@code 503} only if
+ * that flush cannot make room.
+ */
+@Slf4j
+@Service
+public class ViewCountService implements MeterBinder {
+    private static final String FLUSH_SQL = "UPDATE stories SET views = views + ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final long lagWarnThresholdMs;
+    private final int maxPendingStories;
+    private final Map<Long, Long> pending = new ConcurrentHashMap<>();
+    private final Lock flushLock = new ReentrantLock();
+    private final AtomicLong oldestPendingAt = new AtomicLong();
+    private final AtomicLong lastFlushAt = new AtomicLong(System.currentTimeMillis());
+    private final AtomicLong flushedViews = new AtomicLong();
+    private final AtomicLong failedFlushes = new AtomicLong();
+    private final AtomicLong rejectedViews = new AtomicLong();
+
+    public ViewCountService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${views.flush-lag-warn-ms:60000}") long lagWarnThresholdMs,
+            @Value("${views.max-pending-stories:50000}") int maxPendingStories) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.lagWarnThresholdMs = lagWarnThresholdMs;
+        this.maxPendingStories = maxPendingStories;
+    }
+
+    public void recordView(Long storyId) {
+        if (storyId == null || storyId <= 0) {
+            throw new IllegalArgumentException("Invalid story id: " + storyId);
+        }
+        if (pending.size() >= maxPendingStories && !pending.containsKey(storyId)) {
+            makeRoom();
+            if (pending.size() >= maxPendingStories) {
+                rejectedViews.incrementAndGet();
+                throw new ServiceUnavailableException("Too many unwritten views, try again later");
+            }
+        }
+        // Merged under the map's lock for the id, so a concurrent drain either takes the view or leaves it
+        pending.merge(storyId, 1L, Long::sum);
+        oldestPendingAt.compareAndSet(0L, System.currentTimeMillis());
+    }
+
+    @Scheduled(fixedDelayString = "${views.flush-interval-ms:5000}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            flushPending();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void flushPending() {
+        long lag = getFlushLagMillis();
+        oldestPendingAt.set(0L);
+
+        Map<Long, Long> deltas = drain();
+        if (deltas.isEmpty()) {
+            lastFlushAt.set(System.currentTimeMillis());
+            return;
+        }
+
+        // Ordered by id so concurrent flushers always lock rows in the same order
+        List<Object[]> batch = new ArrayList<>(deltas.size());
+        deltas.forEach((id, delta) -> batch.add(new Object[] { delta, id }));
+        try {
+            // The commit is inside the try too, so a failed commit re-queues like a failed update
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.batchUpdate(FLUSH_SQL, batch);
+                deltas.forEach((id, delta) -> eventPublisher.publishEvent(
+                        StoryStatsChangedEvent.views(id, Math.toIntExact(delta))));
+            });
+        } catch (RuntimeException e) {
+            log.error("Failed to flush views for {} stories, re-queueing", deltas.size(), e);
+            failedFlushes.incrementAndGet();
+            deltas.forEach((id, delta) -> pending.merge(id, delta, Long::sum));
+            oldestPendingAt.compareAndSet(0L, System.currentTimeMillis() - lag);
+            throw e;
+        }
+
+        long total = deltas.values().stream().mapToLong(Long::longValue).sum();
+        flushedViews.addAndGet(total);
+        lastFlushAt.set(System.currentTimeMillis());
+        if (lag > lagWarnThresholdMs) {
+            log.warn("View flush lag {} ms exceeded threshold {} ms", lag, lagWarnThresholdMs);
+        }
+        log.debug("Flushed {} views across {} stories (lag {} ms)", total, deltas.size(), lag);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("views.pending", this, ViewCountService::getPendingViews)
+                .description("Views counted in memory and not yet written")
+                .register(registry);
+        Gauge.builder("views.pending.stories", this, ViewCountService::getPendingStories)
+                .register(registry);
+        TimeGauge.builder("views.flush.lag", this, TimeUnit.MILLISECONDS, ViewCountService::getFlushLagMillis)
+                .description("Age of the oldest unwritten view")
+                .register(registry);
+        FunctionCounter.builder("views.flushed", flushedViews, AtomicLong::get)
+                .register(registry);
+        FunctionCounter.builder("views.flush.failures", failedFlushes, AtomicLong::get)
+                .register(registry);
+        FunctionCounter.builder("views.rejected", rejectedViews, AtomicLong::get)
+                .description("Views turned away because the pending map was full")
+                .register(registry);
+    }
+
+    @PreDestroy
+    public void drainOnShutdown() {
+        log.info("Draining {} pending story view counters", pending.size());
+        flush();
+    }
+
+    // Whoever waited on a running flush finds room already made and skips its own
+    private void makeRoom() {
+        flushLock.lock();
+        try {
+            if (pending.size() >= maxPendingStories) {
+                flush();
+            }
+        } catch (RuntimeException e) {
+            // Logged and re-queued by the flush; the caller checks for room again
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private Map<Long, Long> drain() {
+        Map<Long, Long> deltas = new TreeMap<>();
+        for (Long id : pending.keySet()) {
+            Long delta = pending.remove(id);
+            if (delta != null) {
+                deltas.put(id, delta);
+            }
+        }
+        return deltas;
+    }
+
+    /**
+     * Age of the oldest view that has not been written to the database yet,
+     * or zero when nothing is pending.
+     */
+    public long getFlushLagMillis() {
+        long since = oldestPendingAt.get();
+        return since == 0L ? 0L : System.currentTimeMillis() - since;
+    }
+
+    public long getPendingViews() {
+        return pending.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    public int getPendingStories() {
+        return pending.size();
+    }
+
+    public long getFlushedViews() {
+        return flushedViews.get();
+    }
+
+    public long getLastFlushAt() {
+        return lastFlushAt.get();
+    }
+}
@@ -0,0 +1,104 @@
+package com.taleforge.timing;
+
+import java.util.Locale;
+
+/**
+ * Breakdown of where the current request spent its time: JDBC statements,
+ * token authentication, the handler and response serialization. It is bound
+ * to the request thread by {@link ServerTimingFilter}. Code running outside a
+ * request, such as scheduled flushes, sees no current timing and records
+ * nothing.
+ */
+public final class RequestTiming {
+    public static final String HEADER = "Server-Timing";
+
+    private static final ThreadLocal<RequestTiming> CURRENT = new ThreadLocal<>();
+
+    private final long startedAt = System.nanoTime();
+    private final boolean exposed;
+    private long dbNanos;
+    private int statements;
+    private long authNanos;
+    private long handlerStartedAt;
+    private long handlerNanos;
+    private long serializationNanos;
+
+    private RequestTiming(boolean exposed) {
+        this.exposed = exposed;
+    }
+
+    static RequestTiming start(boolean exposed) {
+        RequestTiming timing = new RequestTiming(exposed);
+        CURRENT.set(timing);
+        return timing;
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+
+    public static RequestTiming current() {
+        return CURRENT.get();
+    }
+
+    public static void statement(long nanos) {
+        RequestTiming timing = CURRENT.get();
+        if (timing != null) {
+            timing.dbNanos += nanos;
+            timing.statements++;
+        }
+    }
+
+    public static void authentication(long nanos) {
+        RequestTiming timing = CURRENT.get();
+        if (timing != null) {
+            timing.authNanos += nanos;
+        }
+    }
+
+    void handlerStarted() {
+        handlerStartedAt = System.nanoTime();
+    }
+
+    /**
+     * Ends the handler phase; the first call wins, so serialization can close
+     * it before the interceptor's completion callback runs.
+     */
+    void handlerFinished() {
+        if (handlerStartedAt != 0 && handlerNanos == 0) {
+            handlerNanos = System.nanoTime() - handlerStartedAt;
+        }
+    }
+
+    void serialized(long nanos) {
+        serializationNanos += nanos;
+    }
+
+    boolean exposed() {
+        return exposed;
+    }
+
+    long elapsedNanos() {
+        return System.nanoTime() - startedAt;
+    }
+
+    public int statements() {
+        return statements;
+    }
+
+    /**
+     * The breakdown in {@code Server-Timing} syntax. Phases overlap: the
+     * handler time includes the database time it caused.
+     */
+    public String header() {
+        return "db;dur=" + millis(dbNanos) + ";desc=\"" + statements + " statements\""
+                + ", auth;dur=" + millis(authNanos)
+                + ", app;dur=" + millis(handlerNanos)
+                + ", ser;dur=" + millis(serializationNanos)
+                + ", total;dur=" + millis(elapsedNanos());
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.2f", nanos / 1_000_000.0);
+    }
+}
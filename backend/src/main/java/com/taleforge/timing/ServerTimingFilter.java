@@ -0,0 +1,73 @@
+package com.taleforge.timing;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Outermost filter: opens the {@link RequestTiming} for the request, so the
+ * security filters are inside it, and logs the breakdown of requests slower
+ * than {@code server-timing.slow-threshold}. JSON bodies get their
+ * {@code Server-Timing} header from {@link TimedJacksonHttpMessageConverter}
+ * just before they are written; other responses get it here, when they are
+ * committed or once the chain returns.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ServerTimingFilter extends OncePerRequestFilter {
+    private final boolean headerEnabled;
+    private final long slowThresholdNanos;
+
+    public ServerTimingFilter(
+            @Value("${server-timing.header-enabled:true}") boolean headerEnabled,
+            @Value("${server-timing.slow-threshold:PT0.5S}") Duration slowThreshold) {
+        this.headerEnabled = headerEnabled;
+        this.slowThresholdNanos = slowThreshold.toNanos();
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+        RequestTiming timing = RequestTiming.start(headerEnabled);
+        try {
+            filterChain.doFilter(request, headerEnabled ? new OnCommittedResponseWrapper(response) {
+                @Override
+                protected void onResponseCommitted() {
+                    setTimingHeader(response, timing);
+                }
+            } : response);
+        } finally {
+            RequestTiming.clear();
+            if (headerEnabled && !response.isCommitted()) {
+                setTimingHeader(response, timing);
+            }
+            long elapsed = timing.elapsedNanos();
+            if (elapsed >= slowThresholdNanos) {
+                log.warn("Slow request {} {} -> {} in {} ms: {}", request.getMethod(), request.getRequestURI(),
+                        response.getStatus(), elapsed / 1_000_000, timing.header());
+            }
+        }
+    }
+
+    private static void setTimingHeader(HttpServletResponse response, RequestTiming timing) {
+        if (!response.containsHeader(RequestTiming.HEADER)) {
+            response.setHeader(RequestTiming.HEADER, timing.header());
+        }
+    }
+}
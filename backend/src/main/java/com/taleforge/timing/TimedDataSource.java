@@ -0,0 +1,77 @@
+package com.taleforge.timing;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Set;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Wraps the pool so every statement executed on a request thread, whether it
+ * comes from Hibernate or a {@code JdbcTemplate}, adds its execution time to
+ * the {@link RequestTiming}. The PostgreSQL driver reads the whole result
+ * during execute, so the fetch is included. A JDBC batch counts as one
+ * statement because it is one round trip.
+ */
+public class TimedDataSource extends DelegatingDataSource {
+    private static final Set<String> EXECUTE_METHODS = Set.of(
+            "execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+
+    public TimedDataSource(DataSource target) {
+        super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return connection(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return connection(super.getConnection(username, password));
+    }
+
+    private static Connection connection(Connection target) {
+        return proxy(Connection.class, target, (proxy, method, args) -> {
+            Object result = invoke(proxy, target, method, args);
+            return result instanceof Statement statement ? statement(method.getReturnType(), statement) : result;
+        });
+    }
+
+    private static Object statement(Class<?> type, Statement target) {
+        return proxy(type, target, (proxy, method, args) -> {
+            if (!EXECUTE_METHODS.contains(method.getName())) {
+                return invoke(proxy, target, method, args);
+            }
+            long started = System.nanoTime();
+            try {
+                return invoke(proxy, target, method, args);
+            } finally {
+                RequestTiming.statement(System.nanoTime() - started);
+            }
+        });
+    }
+
+    private static Object invoke(Object proxy, Object target, Method method, Object[] args) throws Throwable {
+        if (method.getName().equals("unwrap") && ((Class<?>) args[0]).isInstance(proxy)) {
+            return proxy;
+        }
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<?> type, Object target, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(TimedDataSource.class.getClassLoader(), new Class<?>[] { type }, handler);
+    }
+}
@@ -0,0 +1,61 @@
+package com.taleforge.timing;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.lang.Nullable;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Serializes into a buffer while a request is being timed, so the time spent
+ * writing JSON can be measured and reported in the {@code Server-Timing}
+ * header before any byte of the body is sent. The buffered length also
+ * becomes the {@code Content-Length}.
+ */
+public class TimedJacksonHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+    private static final int INITIAL_BUFFER = 8192;
+
+    public TimedJacksonHttpMessageConverter(ObjectMapper objectMapper) {
+        super(objectMapper);
+    }
+
+    @Override
+    protected void writeInternal(Object object, @Nullable Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        RequestTiming timing = RequestTiming.current();
+        if (timing == null) {
+            super.writeInternal(object, type, outputMessage);
+            return;
+        }
+
+        timing.handlerFinished();
+        long started = System.nanoTime();
+        ByteArrayOutputStream body = new ByteArrayOutputStream(INITIAL_BUFFER);
+        super.writeInternal(object, type, new HttpOutputMessage() {
+            @Override
+            public OutputStream getBody() {
+                return body;
+            }
+
+            @Override
+            public HttpHeaders getHeaders() {
+                return outputMessage.getHeaders();
+            }
+        });
+        timing.serialized(System.nanoTime() - started);
+
+        HttpHeaders headers = outputMessage.getHeaders();
+        headers.setContentLength(body.size());
+        if (timing.exposed()) {
+            headers.set(RequestTiming.HEADER, timing.header());
+        }
+        body.writeTo(outputMessage.getBody());
+    }
+}
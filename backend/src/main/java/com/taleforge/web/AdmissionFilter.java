@@ -0,0 +1,100 @@
+package com.taleforge.web;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Admission limit for the virtual-thread execution mode. With a thread per
+ * request there is no worker pool to bound concurrency any more, so a burst
+ * would park thousands of requests on the few pooled connections, each holding
+ * its memory until Hikari times it out. This filter admits at most
+ * {@code permits-per-connection} requests per pooled connection. The rest wait
+ * in FIFO order for up to {@code max-wait}, then get {@code 503} with
+ * {@code Retry-After}.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@ConditionalOnProperty(name = "admission.enabled", havingValue = "true")
+public class AdmissionFilter extends OncePerRequestFilter implements MeterBinder {
+    private static final String RETRY_AFTER_SECONDS = "1";
+
+    private final int maxConcurrent;
+    private final long maxWaitNanos;
+    private final Semaphore permits;
+    private final AtomicLong rejected = new AtomicLong();
+
+    public AdmissionFilter(
+            @Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize,
+            @Value("${admission.permits-per-connection:2}") int permitsPerConnection,
+            @Value("${admission.max-wait:PT2S}") Duration maxWait) {
+        this.maxConcurrent = poolSize * permitsPerConnection;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.permits = new Semaphore(maxConcurrent, true);
+        log.info("Admitting at most {} concurrent requests, waiting up to {}", maxConcurrent, maxWait);
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+        if (!acquire()) {
+            rejected.incrementAndGet();
+            log.debug("Rejected {} {}: {} requests in flight", request.getMethod(), request.getRequestURI(),
+                    maxConcurrent);
+            // No sendError: the /error dispatch goes through security, which answers anonymous callers with 403
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private boolean acquire() {
+        try {
+            return permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("admission.active", permits, available -> maxConcurrent - available.availablePermits())
+                .register(registry);
+        Gauge.builder("admission.queued", permits, Semaphore::getQueueLength)
+                .description("Requests waiting for a permit")
+                .register(registry);
+        FunctionCounter.builder("admission.rejected", rejected, AtomicLong::get)
+                .register(registry);
+    }
+}
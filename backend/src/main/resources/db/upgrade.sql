@@ -0,0 +1,73 @@
+-- Brings a PostgreSQL database created from the original schema up to date with schema.sql
+-- without touching its rows. Every statement is idempotent, so the script can be run again,
+-- e.g. after a partial failure:
+--   psql "$DATABASE_URL" -v ON_ERROR_STOP=1 -f upgrade.sql
+-- Run it before starting the new version; prod runs with ddl-auto: none and never runs schema.sql.
+
+BEGIN;
+
+-- Pooled id sequences. Hibernate takes blocks of 50 and reads each value as the top of a
+-- block, so the sequence must start past every existing id and step by 50.
+CREATE SEQUENCE IF NOT EXISTS user_sequence;
+CREATE SEQUENCE IF NOT EXISTS story_sequence;
+CREATE SEQUENCE IF NOT EXISTS comment_sequence;
+ALTER SEQUENCE user_sequence INCREMENT BY 50;
+ALTER SEQUENCE story_sequence INCREMENT BY 50;
+ALTER SEQUENCE comment_sequence INCREMENT BY 50;
+-- Never moved backwards, so a rerun cannot hand out a block a running instance already holds
+SELECT setval('user_sequence', GREATEST((SELECT COALESCE(MAX(id), 1) FROM users),
+        (SELECT last_value FROM user_sequence)));
+SELECT setval('story_sequence', GREATEST((SELECT COALESCE(MAX(id), 1) FROM stories),
+        (SELECT last_value FROM story_sequence)));
+SELECT setval('comment_sequence', GREATEST((SELECT COALESCE(MAX(id), 1) FROM comments),
+        (SELECT last_value FROM comment_sequence)));
+-- Plain SQL inserts draw from the same sequences instead of the old serial ones
+ALTER TABLE users ALTER COLUMN id SET DEFAULT nextval('user_sequence');
+ALTER TABLE stories ALTER COLUMN id SET DEFAULT nextval('story_sequence');
+ALTER TABLE comments ALTER COLUMN id SET DEFAULT nextval('comment_sequence');
+
+-- Maintained counters
+ALTER TABLE stories ADD COLUMN IF NOT EXISTS trending_score DOUBLE PRECISION NOT NULL DEFAULT 0;
+ALTER TABLE stories ADD COLUMN IF NOT EXISTS comments_count INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE stories ADD COLUMN IF NOT EXISTS chapters_count INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE comments ADD COLUMN IF NOT EXISTS like_count INTEGER NOT NULL DEFAULT 0;
+
+-- Feed, tag and thread indexes
+CREATE INDEX IF NOT EXISTS idx_stories_published_created ON stories (published, created_at, id);
+CREATE INDEX IF NOT EXISTS idx_stories_published_views ON stories (published, views, id);
+CREATE INDEX IF NOT EXISTS idx_stories_published_likes ON stories (published, likes, id);
+CREATE INDEX IF NOT EXISTS idx_stories_published_trending ON stories (published, trending_score, id);
+CREATE INDEX IF NOT EXISTS idx_story_tags_tag ON story_tags (tag, story_id);
+CREATE INDEX IF NOT EXISTS idx_comments_story_created ON comments (story_id, created_at, id);
+CREATE INDEX IF NOT EXISTS idx_comments_story_likes ON comments (story_id, like_count, id);
+
+-- Published story count per tag; filled by the rebuild at startup
+CREATE TABLE IF NOT EXISTS tag_stats (
+    tag VARCHAR(50) PRIMARY KEY,
+    story_count INTEGER NOT NULL DEFAULT 0
+);
+
+CREATE INDEX IF NOT EXISTS idx_tag_stats_count ON tag_stats (story_count DESC, tag);
+
+CREATE TABLE IF NOT EXISTS chapters (
+    id BIGSERIAL PRIMARY KEY,
+    story_id BIGINT NOT NULL REFERENCES stories(id) ON DELETE CASCADE,
+    chapter_number INTEGER NOT NULL,
+    title VARCHAR(255) NOT NULL,
+    word_count INTEGER NOT NULL DEFAULT 0,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT uq_chapters_story_number UNIQUE (story_id, chapter_number) DEFERRABLE INITIALLY IMMEDIATE
+);
+
+CREATE TABLE IF NOT EXISTS chapter_bodies (
+    chapter_id BIGINT PRIMARY KEY REFERENCES chapters(id) ON DELETE CASCADE,
+    content TEXT NOT NULL
+);
+
+-- Recount from the rows; trending scores are recomputed by the rebuild at startup
+UPDATE stories s SET comments_count = (SELECT COUNT(*) FROM comments c WHERE c.story_id = s.id);
+UPDATE stories s SET chapters_count = (SELECT COUNT(*) FROM chapters ch WHERE ch.story_id = s.id);
+UPDATE comments c SET like_count = (SELECT COUNT(*) FROM comment_likes cl WHERE cl.comment_id = c.id);
+
+COMMIT;
@@ -1,12 +1,10 @@
 CREATE SCHEMA IF NOT EXISTS PUBLIC;
 SET search_path TO PUBLIC;
 
--- Create sequences
-CREATE SEQUENCE IF NOT EXISTS user_sequence START 1;
-CREATE SEQUENCE IF NOT EXISTS story_sequence START 1;
-CREATE SEQUENCE IF NOT EXISTS comment_sequence START 1;
-
 -- Drop existing tables if they exist (in correct order to handle dependencies)
+DROP TABLE IF EXISTS tag_stats CASCADE;
+DROP TABLE IF EXISTS chapter_bodies CASCADE;
+DROP TABLE IF EXISTS chapters CASCADE;
 DROP TABLE IF EXISTS comments CASCADE;
 DROP TABLE IF EXISTS story_tags CASCADE;
 DROP TABLE IF EXISTS likes CASCADE;
@@ -14,9 +12,17 @@ DROP TABLE IF EXISTS stories CASCADE;
 DROP TABLE IF EXISTS user_roles CASCADE;
 DROP TABLE IF EXISTS users CASCADE;
 
+-- Create sequences; id columns default to them so plain SQL inserts stay clear of Hibernate's blocks
+DROP SEQUENCE IF EXISTS user_sequence;
+DROP SEQUENCE IF EXISTS story_sequence;
+DROP SEQUENCE IF EXISTS comment_sequence;
+CREATE SEQUENCE user_sequence START 1;
+CREATE SEQUENCE story_sequence START 1;
+CREATE SEQUENCE comment_sequence START 1;
+
 -- Create users table
 CREATE TABLE users (
-    id BIGSERIAL PRIMARY KEY,
+    id BIGINT PRIMARY KEY DEFAULT nextval('user_sequence'),
     username VARCHAR(50) NOT NULL UNIQUE,
     email VARCHAR(100) NOT NULL UNIQUE,
     password VARCHAR(255) NOT NULL,
@@ -41,7 +47,7 @@ CREATE TABLE user_roles (
 
 -- Create stories table
 CREATE TABLE stories (
-    id BIGSERIAL PRIMARY KEY,
+    id BIGINT PRIMARY KEY DEFAULT nextval('story_sequence'),
     title VARCHAR(255) NOT NULL,
     description TEXT NOT NULL,
     content TEXT NOT NULL,
@@ -51,9 +57,18 @@ CREATE TABLE stories (
     published BOOLEAN NOT NULL DEFAULT FALSE,
     views INTEGER NOT NULL DEFAULT 0,
     likes INTEGER NOT NULL DEFAULT 0,
+    trending_score DOUBLE PRECISION NOT NULL DEFAULT 0,
+    comments_count INTEGER NOT NULL DEFAULT 0,
+    chapters_count INTEGER NOT NULL DEFAULT 0,
     FOREIGN KEY (author_id) REFERENCES users(id) ON DELETE CASCADE
 );
 
+-- Feed indexes: keyset pages seek on (sort column, id) within published stories
+CREATE INDEX idx_stories_published_created ON stories (published, created_at, id);
+CREATE INDEX idx_stories_published_views ON stories (published, views, id);
+CREATE INDEX idx_stories_published_likes ON stories (published, likes, id);
+CREATE INDEX idx_stories_published_trending ON stories (published, trending_score, id);
+
 -- Create story_tags table
 CREATE TABLE story_tags (
     story_id BIGINT NOT NULL,
@@ -62,19 +77,53 @@ CREATE TABLE story_tags (
     FOREIGN KEY (story_id) REFERENCES stories(id) ON DELETE CASCADE
 );
 
+-- Tag-first access path for tag filters
+CREATE INDEX idx_story_tags_tag ON story_tags (tag, story_id);
+
+-- Published story count per tag, maintained by story writes
+CREATE TABLE tag_stats (
+    tag VARCHAR(50) PRIMARY KEY,
+    story_count INTEGER NOT NULL DEFAULT 0
+);
+
+CREATE INDEX idx_tag_stats_count ON tag_stats (story_count DESC, tag);
+
 -- Create comments table
 CREATE TABLE comments (
-    id BIGSERIAL PRIMARY KEY,
+    id BIGINT PRIMARY KEY DEFAULT nextval('comment_sequence'),
     content TEXT NOT NULL,
     story_id BIGINT NOT NULL,
     author_id BIGINT NOT NULL,
     edited BOOLEAN NOT NULL DEFAULT FALSE,
+    like_count INTEGER NOT NULL DEFAULT 0,
     created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
     FOREIGN KEY (story_id) REFERENCES stories(id) ON DELETE CASCADE,
     FOREIGN KEY (author_id) REFERENCES users(id) ON DELETE CASCADE
 );
 
+-- Thread indexes: keyset pages seek on (sort column, id) within one story
+CREATE INDEX idx_comments_story_created ON comments (story_id, created_at, id);
+CREATE INDEX idx_comments_story_likes ON comments (story_id, like_count, id);
+
+-- Chapter metadata; the text is in chapter_bodies so listings never read it.
+-- Removing a chapter renumbers the rest in one statement, hence the deferrable key.
+CREATE TABLE chapters (
+    id BIGSERIAL PRIMARY KEY,
+    story_id BIGINT NOT NULL REFERENCES stories(id) ON DELETE CASCADE,
+    chapter_number INTEGER NOT NULL,
+    title VARCHAR(255) NOT NULL,
+    word_count INTEGER NOT NULL DEFAULT 0,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT uq_chapters_story_number UNIQUE (story_id, chapter_number) DEFERRABLE INITIALLY IMMEDIATE
+);
+
+CREATE TABLE chapter_bodies (
+    chapter_id BIGINT PRIMARY KEY REFERENCES chapters(id) ON DELETE CASCADE,
+    content TEXT NOT NULL
+);
+
 -- Create likes table
 CREATE TABLE likes (
     user_id BIGINT NOT NULL,
@@ -273,4 +322,17 @@ INSERT INTO likes (user_id, story_id, created_at) VALUES
 (2, 8, CURRENT_TIMESTAMP - INTERVAL '8 days'),
 (3, 9, CURRENT_TIMESTAMP - INTERVAL '11 days'),
 (4, 9, CURRENT_TIMESTAMP - INTERVAL '10 days'),
-(5, 10, CURRENT_TIMESTAMP - INTERVAL '14 days'); 
\ No newline at end of file
+(5, 10, CURRENT_TIMESTAMP - INTERVAL '14 days');
+
+-- Counters maintained by comment and comment-like writes
+UPDATE stories s SET comments_count = (SELECT COUNT(*) FROM comments c WHERE c.story_id = s.id);
+UPDATE comments c SET like_count = (SELECT COUNT(*) FROM comment_likes cl WHERE cl.comment_id = c.id);
+
+-- Hibernate allocates ids in blocks of 50 and reads the sequence as the top of the last block handed out,
+-- so switch to that increment once the seed rows have their ids
+ALTER SEQUENCE user_sequence INCREMENT BY 50;
+ALTER SEQUENCE story_sequence INCREMENT BY 50;
+ALTER SEQUENCE comment_sequence INCREMENT BY 50;
+SELECT setval('user_sequence', (SELECT MAX(id) FROM users));
+SELECT setval('story_sequence', (SELECT MAX(id) FROM stories));
+SELECT setval('comment_sequence', (SELECT MAX(id) FROM comments));
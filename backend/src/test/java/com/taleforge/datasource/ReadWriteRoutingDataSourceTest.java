@@ -0,0 +1,155 @@
+package com.taleforge.datasource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Routing between two embedded databases that each answer with their own
+ * name, with the replica's lag read from a table the test controls.
+ */
+class ReadWriteRoutingDataSourceTest {
+    private static final String WHO = "SELECT name FROM whoami";
+
+    private EmbeddedDatabase primary;
+    private EmbeddedDatabase replica;
+    private ReplicaMonitor monitor;
+    private ReadWriteRoutingDataSource routing;
+    private SimpleMeterRegistry registry;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate reads;
+    private TransactionTemplate writes;
+
+    @BeforeEach
+    void setUp() {
+        primary = database("primary");
+        replica = database("replica");
+        new JdbcTemplate(replica).execute("CREATE TABLE replica_lag (seconds DOUBLE)");
+        new JdbcTemplate(replica).update("INSERT INTO replica_lag VALUES (0)");
+
+        monitor = new ReplicaMonitor(replica, "SELECT seconds FROM replica_lag", Duration.ofSeconds(5));
+        registry = new SimpleMeterRegistry();
+        monitor.bindTo(registry);
+        monitor.check();
+
+        routing = new ReadWriteRoutingDataSource(primary, replica, monitor);
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(routing);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        reads = new TransactionTemplate(transactionManager);
+        reads.setReadOnly(true);
+        writes = new TransactionTemplate(transactionManager);
+        // The proxy reads the connection defaults from one connection on first use
+        who();
+    }
+
+    @AfterEach
+    void tearDown() {
+        primary.shutdown();
+        replica.shutdown();
+    }
+
+    @Test
+    void readOnlyTransactionsGoToTheReplica() {
+        assertThat(whoReads()).isEqualTo("replica");
+        assertThat(whoWrites()).isEqualTo("primary");
+        assertThat(who()).isEqualTo("primary");
+
+        assertThat(routed("replica", "read")).isEqualTo(1);
+        assertThat(routed("primary", "write")).isEqualTo(4);
+    }
+
+    @Test
+    void readsThatMustSeeTheLatestWriteStayOnThePrimary() {
+        assertThat(PrimaryReads.call(this::whoReads)).isEqualTo("primary");
+        assertThat(routed("primary", "recent_write")).isEqualTo(1);
+        assertThat(whoReads()).isEqualTo("replica");
+    }
+
+    @Test
+    void explicitCredentialsAreRoutedLikeThePoolDefaults() {
+        assertThat(whoAs("sa", "")).isEqualTo("primary");
+        assertThat(reads.<String>execute(status -> whoAs("sa", ""))).isEqualTo("replica");
+    }
+
+    @Test
+    void readsFallBackWhileTheReplicaLags() {
+        setLag(30);
+        monitor.check();
+        assertThat(monitor.isUsable()).isFalse();
+        assertThat(whoReads()).isEqualTo("primary");
+        assertThat(routed("primary", "fallback")).isEqualTo(1);
+        assertThat(registry.get("datasource.replica.lag").gauge().value()).isEqualTo(30);
+
+        setLag(1);
+        monitor.check();
+        assertThat(whoReads()).isEqualTo("replica");
+    }
+
+    @Test
+    void readsFallBackWhenTheReplicaIsDown() {
+        replica.shutdown();
+        monitor.check();
+        assertThat(monitor.isUsable()).isFalse();
+        assertThat(registry.get("datasource.replica.usable").gauge().value()).isZero();
+        assertThat(whoReads()).isEqualTo("primary");
+    }
+
+    private String whoReads() {
+        return reads.execute(status -> who());
+    }
+
+    private String whoWrites() {
+        return writes.execute(status -> who());
+    }
+
+    private String who() {
+        return jdbcTemplate.queryForObject(WHO, String.class);
+    }
+
+    private String whoAs(String username, String password) {
+        try (Connection connection = routing.getConnection(username, password);
+                ResultSet name = connection.createStatement().executeQuery(WHO)) {
+            name.next();
+            return name.getString(1);
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void setLag(double seconds) {
+        new JdbcTemplate(replica).update("UPDATE replica_lag SET seconds = ?", seconds);
+    }
+
+    private double routed(String target, String reason) {
+        return registry.get("datasource.routing").tag("target", target).tag("reason", reason)
+                .functionCounter().count();
+    }
+
+    private static EmbeddedDatabase database(String name) {
+        EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .setName("routing-" + name)
+                .build();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("CREATE TABLE whoami (name VARCHAR(20))");
+        jdbcTemplate.update("INSERT INTO whoami VALUES (?)", name);
+        return database;
+    }
+}
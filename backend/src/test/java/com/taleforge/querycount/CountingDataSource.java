@@ -0,0 +1,94 @@
+package com.taleforge.querycount;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Set;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Wraps the pool so every statement execution and every row read, whether it
+ * comes from Hibernate or a {@code JdbcTemplate}, is counted in
+ * {@link QueryCounter}. A JDBC batch counts as one statement, as it is one
+ * round trip.
+ */
+public class CountingDataSource extends DelegatingDataSource {
+    private static final Set<String> EXECUTE_METHODS = Set.of(
+            "execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+    private static final Set<String> RESULT_SET_METHODS = Set.of("executeQuery", "getResultSet", "getGeneratedKeys");
+
+    public CountingDataSource(DataSource target) {
+        super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return connection(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return connection(super.getConnection(username, password));
+    }
+
+    private static Connection connection(Connection target) {
+        return proxy(Connection.class, target, (method, args, result) -> {
+            if (!(result instanceof Statement statement)) {
+                return result;
+            }
+            // Prepared and callable statements carry their SQL from here; plain ones pass it to execute
+            String preparedSql = args != null && args.length > 0 && args[0] instanceof String sql ? sql : null;
+            return statement(method.getReturnType(), statement, preparedSql);
+        });
+    }
+
+    private static Object statement(Class<?> type, Statement target, String preparedSql) {
+        return proxy(type, target, (method, args, result) -> {
+            if (EXECUTE_METHODS.contains(method.getName())) {
+                String sql = args != null && args.length > 0 && args[0] instanceof String executed ? executed : preparedSql;
+                QueryCounter.statement(method.getName().endsWith("Batch") ? "[batch] " + sql : sql);
+            }
+            if (RESULT_SET_METHODS.contains(method.getName()) && result instanceof ResultSet resultSet) {
+                return resultSet(resultSet);
+            }
+            return result;
+        });
+    }
+
+    private static ResultSet resultSet(ResultSet target) {
+        return proxy(ResultSet.class, target, (method, args, result) -> {
+            if (method.getName().equals("next") && Boolean.TRUE.equals(result)) {
+                QueryCounter.row();
+            }
+            return result;
+        });
+    }
+
+    @FunctionalInterface
+    private interface ResultMapper {
+        Object map(Method method, Object[] args, Object result) throws SQLException;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<?> type, Object target, ResultMapper mapper) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            if (method.getName().equals("unwrap") && ((Class<?>) args[0]).isInstance(proxy)) {
+                return proxy;
+            }
+            try {
+                return mapper.map(method, args, method.invoke(target, args));
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        };
+        return (T) Proxy.newProxyInstance(CountingDataSource.class.getClassLoader(), new Class<?>[] { type }, handler);
+    }
+}
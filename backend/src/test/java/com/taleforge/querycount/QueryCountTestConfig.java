@@ -0,0 +1,38 @@
+package com.taleforge.querycount;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+@TestConfiguration(proxyBeanMethods = false)
+public class QueryCountTestConfig {
+
+    @Bean
+    static BeanPostProcessor countingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof DataSource dataSource && !(bean instanceof CountingDataSource)
+                        ? new CountingDataSource(dataSource)
+                        : bean;
+            }
+        };
+    }
+
+    /**
+     * Seeds before the application is ready, so the startup rebuilds of the
+     * search index, leaderboard and tag structures see the full data set.
+     */
+    @Bean
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    ApplicationRunner seedData(JdbcTemplate jdbcTemplate, PasswordEncoder passwordEncoder) {
+        return args -> new SeedData(jdbcTemplate, passwordEncoder.encode(SeedData.PASSWORD)).load();
+    }
+}
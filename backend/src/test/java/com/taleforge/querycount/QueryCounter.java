@@ -0,0 +1,54 @@
+package com.taleforge.querycount;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Statements executed and rows read on the current thread since the last
+ * {@link #reset()}. MockMvc runs a request and its after-commit listeners on the
+ * calling thread, so scheduled jobs running meanwhile are not counted.
+ */
+public final class QueryCounter {
+    private static final ThreadLocal<Counts> COUNTS = ThreadLocal.withInitial(Counts::new);
+
+    private QueryCounter() {
+    }
+
+    public static final class Counts {
+        private final List<String> sql = new ArrayList<>();
+        private int rows;
+
+        public int statements() {
+            return sql.size();
+        }
+
+        public List<String> sql() {
+            return sql;
+        }
+
+        public int rows() {
+            return rows;
+        }
+
+        @Override
+        public String toString() {
+            return sql.size() + " statements, " + rows + " rows";
+        }
+    }
+
+    public static void reset() {
+        COUNTS.set(new Counts());
+    }
+
+    public static Counts current() {
+        return COUNTS.get();
+    }
+
+    static void statement(String sql) {
+        COUNTS.get().sql.add(sql);
+    }
+
+    static void row() {
+        COUNTS.get().rows++;
+    }
+}
@@ -0,0 +1,186 @@
+package com.taleforge.querycount;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * A deterministic data set large enough that a per-row query pattern shows up
+ * as hundreds of statements instead of a handful. Story {@link #HOT_STORY} is
+ * published and carries a long comment thread with likes.
+ */
+public class SeedData {
+    public static final String PASSWORD = "password";
+    public static final int USERS = 200;
+    public static final int STORIES = 3000;
+    public static final int COMMENTS = 12_000;
+    public static final int LIKES = 15_000;
+    public static final int COMMENT_LIKES = 6_000;
+    public static final int HOT_STORY_COMMENTS = 400;
+    public static final long HOT_STORY = 1;
+    public static final String ADMIN = "seedadmin";
+    public static final String[] TAGS = {
+            "fantasy", "mystery", "romance", "horror", "scifi", "thriller", "drama", "comedy",
+            "adventure", "magic", "history", "poetry", "dystopia", "steampunk", "western", "noir",
+            "fairytale", "mythology", "space", "crime", "war", "sea", "gothic", "satire" };
+
+    private static final int BATCH_SIZE = 1000;
+    private static final int ID_ALLOCATION_SIZE = 50;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String passwordHash;
+    private final Random random = new Random(42);
+    private final LocalDateTime now = LocalDateTime.now();
+
+    SeedData(JdbcTemplate jdbcTemplate, String passwordHash) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.passwordHash = passwordHash;
+    }
+
+    public static String username(int index) {
+        return "seeduser" + index;
+    }
+
+    /**
+     * Stories are published except every fifth one.
+     */
+    public static boolean published(long storyId) {
+        return storyId % 5 != 0;
+    }
+
+    void load() {
+        List<Long> users = insertUsers();
+        List<Long> stories = insertStories(users);
+        List<Long> comments = insertComments(users, stories);
+        insertLikes(users, stories);
+        insertCommentLikes(users, comments);
+        restartSequence("user_sequence", "users");
+        restartSequence("story_sequence", "stories");
+        restartSequence("comment_sequence", "comments");
+    }
+
+    private List<Long> insertUsers() {
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 1; i <= USERS; i++) {
+            Timestamp created = timestamp(now.minusDays(400 - i));
+            rows.add(new Object[] { i, username(i), username(i) + "@example.com", passwordHash, "Seed User " + i,
+                    "Writes about " + TAGS[i % TAGS.length], created, created });
+        }
+        batch("INSERT INTO users (id, username, email, password, display_name, bio, enabled, account_non_expired, "
+                + "account_non_locked, credentials_non_expired, email_verified, created_at, updated_at) "
+                + "VALUES (?, ?, ?, ?, ?, ?, TRUE, TRUE, TRUE, TRUE, TRUE, ?, ?)", rows);
+        List<Long> ids = ids("users");
+        batch("INSERT INTO user_roles (user_id, role) VALUES (?, 'ROLE_USER')",
+                ids.stream().map(id -> new Object[] { id }).toList());
+        insertAdmin();
+        return ids;
+    }
+
+    // Kept out of the returned ids so it never authors seeded content
+    private void insertAdmin() {
+        Timestamp created = timestamp(now.minusDays(400));
+        jdbcTemplate.update("INSERT INTO users (id, username, email, password, display_name, enabled, "
+                + "account_non_expired, account_non_locked, credentials_non_expired, email_verified, created_at, "
+                + "updated_at) VALUES (?, ?, ?, ?, 'Seed Admin', TRUE, TRUE, TRUE, TRUE, TRUE, ?, ?)",
+                USERS + 1, ADMIN, ADMIN + "@example.com", passwordHash, created, created);
+        jdbcTemplate.update("INSERT INTO user_roles (user_id, role) VALUES (?, 'ROLE_ADMIN')", USERS + 1);
+    }
+
+    private List<Long> insertStories(List<Long> users) {
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 1; i <= STORIES; i++) {
+            Timestamp created = timestamp(now.minusHours(STORIES - i));
+            rows.add(new Object[] { i, "Seed story " + i, "A seeded story used to measure query counts, number " + i,
+                    "Once upon a time in seed story " + i + ". ".repeat(20), users.get(i % users.size()),
+                    published(i), random.nextInt(5000), created, created });
+        }
+        batch("INSERT INTO stories (id, title, description, content, author_id, published, views, likes, "
+                + "trending_score, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, 0, 0, ?, ?)", rows);
+        List<Long> ids = ids("stories");
+
+        List<Object[]> tags = new ArrayList<>();
+        for (Long id : ids) {
+            Set<String> storyTags = new HashSet<>();
+            while (storyTags.size() < 3) {
+                storyTags.add(TAGS[random.nextInt(TAGS.length)]);
+            }
+            storyTags.forEach(tag -> tags.add(new Object[] { id, tag }));
+        }
+        batch("INSERT INTO story_tags (story_id, tag) VALUES (?, ?)", tags);
+        return ids;
+    }
+
+    private List<Long> insertComments(List<Long> users, List<Long> stories) {
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < COMMENTS; i++) {
+            long storyId = i < HOT_STORY_COMMENTS ? HOT_STORY : stories.get(random.nextInt(stories.size()));
+            Timestamp created = timestamp(now.minusMinutes(COMMENTS - i));
+            rows.add(new Object[] { i + 1, "Seed comment " + i, storyId, users.get(random.nextInt(users.size())),
+                    created, created });
+        }
+        batch("INSERT INTO comments (id, content, story_id, author_id, edited, created_at, updated_at) "
+                + "VALUES (?, ?, ?, ?, FALSE, ?, ?)", rows);
+        jdbcTemplate.update("UPDATE stories s SET comments_count = "
+                + "(SELECT COUNT(*) FROM comments c WHERE c.story_id = s.id)");
+        return ids("comments");
+    }
+
+    private void insertLikes(List<Long> users, List<Long> stories) {
+        Set<List<Long>> pairs = new HashSet<>();
+        List<Object[]> rows = new ArrayList<>();
+        while (rows.size() < LIKES) {
+            Long userId = users.get(random.nextInt(users.size()));
+            // Skew towards early stories so some have many likes
+            Long storyId = stories.get((int) (Math.pow(random.nextDouble(), 2) * stories.size()));
+            if (pairs.add(List.of(userId, storyId))) {
+                rows.add(new Object[] { userId, storyId, timestamp(now) });
+            }
+        }
+        batch("INSERT INTO likes (user_id, story_id, created_at) VALUES (?, ?, ?)", rows);
+        jdbcTemplate.update("UPDATE stories s SET likes = (SELECT COUNT(*) FROM likes l WHERE l.story_id = s.id)");
+    }
+
+    private void insertCommentLikes(List<Long> users, List<Long> comments) {
+        Set<List<Long>> pairs = new HashSet<>();
+        List<Object[]> rows = new ArrayList<>();
+        while (rows.size() < COMMENT_LIKES) {
+            Long userId = users.get(random.nextInt(users.size()));
+            // Half of the comment likes land on the hot story's thread
+            Long commentId = comments.get(random.nextBoolean()
+                    ? random.nextInt(HOT_STORY_COMMENTS)
+                    : random.nextInt(comments.size()));
+            if (pairs.add(List.of(userId, commentId))) {
+                rows.add(new Object[] { userId, commentId, timestamp(now) });
+            }
+        }
+        batch("INSERT INTO comment_likes (user_id, comment_id, created_at) VALUES (?, ?, ?)", rows);
+        jdbcTemplate.update("UPDATE comments c SET like_count = "
+                + "(SELECT COUNT(*) FROM comment_likes cl WHERE cl.comment_id = c.id)");
+    }
+
+    // Seed rows carry explicit ids; Hibernate reads the sequence as the top of its last allocated block
+    private void restartSequence(String sequence, String table) {
+        Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + table, Long.class);
+        jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + (maxId + ID_ALLOCATION_SIZE));
+    }
+
+    private List<Long> ids(String table) {
+        return jdbcTemplate.queryForList("SELECT id FROM " + table + " ORDER BY id", Long.class);
+    }
+
+    private void batch(String sql, List<Object[]> rows) {
+        for (int from = 0; from < rows.size(); from += BATCH_SIZE) {
+            jdbcTemplate.batchUpdate(sql, rows.subList(from, Math.min(from + BATCH_SIZE, rows.size())));
+        }
+    }
+
+    private static Timestamp timestamp(LocalDateTime time) {
+        return Timestamp.valueOf(time);
+    }
+}
@@ -0,0 +1,61 @@
+package com.taleforge.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+import com.taleforge.datasource.PrimaryReads;
+import com.taleforge.event.CommentChangedEvent;
+import com.taleforge.event.StoryStatsChangedEvent;
+
+class ContentVersionsTest {
+
+    @Test
+    void bodiesOfAFreshVersionAreReadFromThePrimary() {
+        ContentVersions versions = new ContentVersions(true, Duration.ofSeconds(5), 5000);
+        versions.onCommentChanged(new CommentChangedEvent(7L, 70L));
+        assertThat(versions.load(versions.comments(7L, null), PrimaryReads::isRequired)).isTrue();
+    }
+
+    @Test
+    void bodiesOfAnOldVersionMayUseTheReplica() {
+        ContentVersions versions = new ContentVersions(true, Duration.ZERO, 0);
+        versions.onCommentChanged(new CommentChangedEvent(7L, 70L));
+        assertThat(versions.load(versions.comments(7L, null), PrimaryReads::isRequired)).isFalse();
+    }
+
+    @Test
+    void withoutAReplicaNothingIsPinned() {
+        ContentVersions versions = new ContentVersions(false, Duration.ofSeconds(5), 5000);
+        versions.onCommentChanged(new CommentChangedEvent(7L, 70L));
+        assertThat(versions.load(versions.comments(7L, null), PrimaryReads::isRequired)).isFalse();
+    }
+
+    @Test
+    void viewCountsReachTheFeedsOncePerInterval() {
+        ContentVersions versions = new ContentVersions(false, Duration.ZERO, 0);
+        ContentVersions.Validator feeds = versions.feeds();
+        ContentVersions.Validator story = versions.story(7L);
+
+        versions.onStoryStatsChanged(StoryStatsChangedEvent.views(7L, 3));
+        versions.onStoryStatsChanged(StoryStatsChangedEvent.views(8L, 1));
+        assertThat(versions.story(7L)).isNotEqualTo(story);
+        assertThat(versions.feeds()).isEqualTo(feeds);
+
+        versions.publishFeedViews();
+        ContentVersions.Validator viewed = versions.feeds();
+        assertThat(viewed).isNotEqualTo(feeds);
+        versions.publishFeedViews();
+        assertThat(versions.feeds()).isEqualTo(viewed);
+    }
+
+    @Test
+    void likesReachTheFeedsOnCommit() {
+        ContentVersions versions = new ContentVersions(false, Duration.ZERO, 0);
+        ContentVersions.Validator feeds = versions.feeds();
+        versions.onStoryStatsChanged(StoryStatsChangedEvent.likes(7L, 1));
+        assertThat(versions.feeds()).isNotEqualTo(feeds);
+    }
+}
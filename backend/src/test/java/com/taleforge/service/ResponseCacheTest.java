@@ -0,0 +1,99 @@
+package com.taleforge.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.taleforge.dto.StorySummaryDTO;
+import com.taleforge.event.CommentChangedEvent;
+import com.taleforge.event.StoryStatsChangedEvent;
+import com.taleforge.exception.ResourceNotFoundException;
+
+/**
+ * Events evict the entries of their own story and scope; versions are held
+ * still so only eviction can cause a reload.
+ */
+class ResponseCacheTest {
+    private final ContentVersions versions = new ContentVersions(false, Duration.ZERO, 0);
+    private final ResponseCache cache = new ResponseCache(versions, 1 << 20, Duration.ofMinutes(10), Runnable::run);
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void statsChangesEvictOnlyTheStoryBody() {
+        story(1L);
+        story(2L);
+        comments(1L);
+        feed();
+
+        cache.onStoryStatsChanged(StoryStatsChangedEvent.views(1L, 3));
+
+        loads.set(0);
+        story(1L);
+        assertThat(loads).hasValue(1);
+        story(2L);
+        comments(1L);
+        feed();
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void commentChangesEvictOnlyTheThreads() {
+        story(1L);
+        comments(1L);
+
+        cache.onCommentChanged(new CommentChangedEvent(1L, 10L));
+
+        loads.set(0);
+        story(1L);
+        assertThat(loads).hasValue(0);
+        comments(1L);
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void missingResourcesAreNotCachedNorCountedAsFailedLoads() {
+        for (int attempt = 0; attempt < 2; attempt++) {
+            assertThatThrownBy(() -> cache.get(ResponseCache.Scope.CHAPTERS, 1L, "chapter:9",
+                    versions.chapters(1L), () -> {
+                        loads.incrementAndGet();
+                        throw new ResourceNotFoundException("Chapter not found");
+                    }))
+                    .isInstanceOf(ResourceNotFoundException.class);
+        }
+        assertThat(loads).hasValue(2);
+        assertThat(cache.stats()).containsEntry("loadFailures", 0L).containsEntry("entries", 0L);
+    }
+
+    @Test
+    void feedItemsAreWeighedByTheirText() {
+        int plain = ResponseCache.weigh(List.of(summary("")));
+        int described = ResponseCache.weigh(List.of(summary("x".repeat(1000))));
+
+        assertThat(described - plain).isEqualTo(2000);
+    }
+
+    private void story(Long storyId) {
+        cache.get(ResponseCache.Scope.STORY, storyId, "", versions.story(storyId), this::load);
+    }
+
+    private void comments(Long storyId) {
+        cache.get(ResponseCache.Scope.COMMENTS, storyId, "", versions.comments(storyId, null), this::load);
+    }
+
+    private void feed() {
+        cache.get(ResponseCache.Scope.FEED, null, "", versions.feeds(), this::load);
+    }
+
+    private static StorySummaryDTO summary(String description) {
+        return new StorySummaryDTO(1L, "Title", description, "", 1L, "author", "Author", true, 0, 0, 0, null, null);
+    }
+
+    private Object load() {
+        return loads.incrementAndGet();
+    }
+}
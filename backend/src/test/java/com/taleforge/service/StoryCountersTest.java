@@ -0,0 +1,83 @@
+package com.taleforge.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.taleforge.dto.StoryDTO;
+import com.taleforge.querycount.QueryCountTestConfig;
+import com.taleforge.repository.StoryRepository;
+
+/**
+ * Counters written while an author edits a story: the edit loads the row
+ * before the view flush and the like commit, and saves after them.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(QueryCountTestConfig.class)
+class StoryCountersTest {
+    private static final long STORY = 1502;
+
+    @Autowired
+    private StoryService storyService;
+
+    @Autowired
+    private ViewCountService viewCountService;
+
+    @Autowired
+    private StoryRepository storyRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void editsKeepCountersWrittenAfterTheStoryWasLoaded() {
+        String author = jdbcTemplate.queryForObject(
+                "SELECT u.username FROM stories s JOIN users u ON u.id = s.author_id WHERE s.id = ?", String.class, STORY);
+        int views = counter("views");
+        int likes = counter("likes");
+
+        TransactionTemplate edit = new TransactionTemplate(transactionManager);
+        edit.executeWithoutResult(status -> {
+            storyRepository.findById(STORY).orElseThrow();
+            // Another thread, so these commit on their own before the edit does
+            CompletableFuture.runAsync(() -> {
+                viewCountService.recordView(STORY);
+                viewCountService.recordView(STORY);
+                viewCountService.flush();
+                new TransactionTemplate(transactionManager).executeWithoutResult(
+                        like -> storyRepository.adjustLikes(STORY, 1));
+            }).join();
+
+            StoryDTO update = new StoryDTO();
+            update.setTitle("Edited while counted");
+            update.setDescription("Edited description");
+            update.setContent("Edited content");
+            update.setTags(new HashSet<>(Set.of("fantasy")));
+            storyService.updateStory(STORY, update, author);
+        });
+
+        assertThat(counter("views")).isEqualTo(views + 2);
+        assertThat(counter("likes")).isEqualTo(likes + 1);
+    }
+
+    private int counter(String column) {
+        return jdbcTemplate.queryForObject("SELECT " + column + " FROM stories WHERE id = ?", Integer.class, STORY);
+    }
+}
@@ -0,0 +1,61 @@
+package com.taleforge.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+
+import com.taleforge.dto.StorySummaryDTO;
+import com.taleforge.exception.BadRequestException;
+import com.taleforge.repository.StorySort;
+
+class StoryCursorTest {
+
+    @Test
+    void roundTripsEverySortValue() {
+        StorySummaryDTO last = new StorySummaryDTO();
+        last.setId(42L);
+        last.setCreatedAt(LocalDateTime.of(2024, 3, 1, 12, 30, 15, 123_000_000));
+        last.setViews(1200);
+        last.setLikes(35);
+        last.setTrendingScore(0.125);
+
+        for (StorySort sort : StorySort.values()) {
+            StoryCursor cursor = StoryCursor.after(sort, last);
+            assertThat(StoryCursor.decode(cursor.encode(), sort)).isEqualTo(cursor);
+        }
+        assertThat(StoryCursor.after(StorySort.POPULAR, last).lastValue()).isEqualTo(1200);
+    }
+
+    @Test
+    void anEmptyCursorStartsAtTheTop() {
+        assertThat(StoryCursor.decode("", StorySort.NEWEST)).isEqualTo(new StoryCursor(StorySort.NEWEST, null, null));
+        assertThat(StoryCursor.decode(null, StorySort.LIKES)).isEqualTo(new StoryCursor(StorySort.LIKES, null, null));
+    }
+
+    @Test
+    void encodedCursorsAreUrlSafe() {
+        StoryCursor cursor = new StoryCursor(StorySort.TRENDING, 1.0 / 3, Long.MAX_VALUE);
+        assertThat(cursor.encode()).matches("[A-Za-z0-9_-]+");
+    }
+
+    @Test
+    void aCursorOnlyFitsItsOwnSort() {
+        String popular = new StoryCursor(StorySort.POPULAR, 10, 7L).encode();
+        assertThatThrownBy(() -> StoryCursor.decode(popular, StorySort.LIKES))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("popular");
+    }
+
+    @Test
+    void tamperedCursorsAreRejected() {
+        String tampered = new StoryCursor(StorySort.NEWEST, "yesterday", 7L).encode();
+        for (String cursor : new String[] { "not base64!", "bm9wZQ", tampered }) {
+            assertThatThrownBy(() -> StoryCursor.decode(cursor, StorySort.NEWEST))
+                    .isInstanceOf(BadRequestException.class)
+                    .hasMessage("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.taleforge.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.taleforge.dto.StoryExportDTO;
+import com.taleforge.repository.StoryRepository;
+
+/**
+ * The export reads batches of two from a catalogue of five stories, so a
+ * limit can end it inside a batch.
+ */
+class StoryExportServiceTest {
+    private static final long STORIES = 5;
+    private static final LocalDateTime CREATED = LocalDateTime.of(2026, 1, 1, 0, 0);
+
+    private final StoryRepository storyRepository = mock(StoryRepository.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final StoryExportService exportService = new StoryExportService(storyRepository, transactionManager,
+            objectMapper, 2);
+
+    @BeforeEach
+    void setUp() {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(storyRepository.findTagsByStoryIds(anyCollection())).thenReturn(List.of());
+        when(storyRepository.findExportRowsAfter(anyLong(), any())).thenAnswer(call -> {
+            long after = call.getArgument(0);
+            Pageable page = call.getArgument(1);
+            return LongStream.rangeClosed(after + 1, STORIES).limit(page.getPageSize())
+                    .mapToObj(StoryExportServiceTest::story).toList();
+        });
+    }
+
+    @Test
+    void theLimitEndsTheExportWithinABatch() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        assertThat(exportService.export(0, 3, out)).isEqualTo(3);
+
+        assertThat(ids(out)).containsExactly(1L, 2L, 3L);
+        verify(storyRepository).findExportRowsAfter(eq(2L), eq(PageRequest.of(0, 1)));
+        verify(storyRepository, never()).findExportRowsAfter(eq(3L), any());
+    }
+
+    @Test
+    void withoutALimitTheExportRunsToTheEnd() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        assertThat(exportService.export(1, Long.MAX_VALUE, out)).isEqualTo(4);
+
+        assertThat(ids(out)).containsExactly(2L, 3L, 4L, 5L);
+    }
+
+    private List<Long> ids(ByteArrayOutputStream out) throws IOException {
+        List<Long> ids = new ArrayList<>();
+        for (String line : out.toString(StandardCharsets.UTF_8).lines().toList()) {
+            ids.add(objectMapper.readTree(line).get("id").asLong());
+        }
+        return ids;
+    }
+
+    private static StoryExportDTO story(long id) {
+        return new StoryExportDTO(id, "Story " + id, "", "", 1L, "author", true, 0, 0, 0, 0, CREATED, CREATED);
+    }
+}
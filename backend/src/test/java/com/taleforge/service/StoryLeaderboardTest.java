@@ -0,0 +1,128 @@
+package com.taleforge.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.taleforge.dto.StorySummaryDTO;
+import com.taleforge.event.StoryChangedEvent;
+import com.taleforge.event.StoryStatsChangedEvent;
+import com.taleforge.repository.StoryRepository;
+import com.taleforge.repository.StorySort;
+
+/**
+ * Bounded rankings over a catalogue ten times their size, and events that
+ * arrive while a rebuild reads it. The read spans two batches so the second
+ * one happens after the first batch is scanned.
+ */
+class StoryLeaderboardTest {
+    private static final int STORIES = 1000;
+    private static final LocalDateTime CREATED = LocalDateTime.of(2026, 1, 1, 0, 0);
+
+    private final StoryRepository storyRepository = mock(StoryRepository.class);
+    private final StoryLeaderboard leaderboard = new StoryLeaderboard(storyRepository, 100, 1000, 100,
+            Duration.ofMinutes(1));
+    private Runnable duringTagRead = () -> { };
+    private Runnable duringSecondRead = () -> { };
+
+    @BeforeEach
+    void setUp() {
+        List<Object[]> rows = new ArrayList<>();
+        for (long id = 1; id <= STORIES; id++) {
+            rows.add(new Object[] {id, 0, (int) id, CREATED, 0});
+        }
+        when(storyRepository.findPublishedRankingsAfter(eq(0L), any())).thenReturn(rows);
+        when(storyRepository.findPublishedRankingsAfter(eq((long) STORIES), any())).thenAnswer(call -> {
+            duringSecondRead.run();
+            return List.of();
+        });
+        when(storyRepository.findTagsByStoryIds(anyCollection())).thenAnswer(call -> {
+            duringTagRead.run();
+            return List.of();
+        });
+        when(storyRepository.findPublishedSummariesByIds(anyCollection())).thenAnswer(
+                call -> call.<Collection<Long>>getArgument(0).stream().map(StoryLeaderboardTest::summary).toList());
+    }
+
+    @Test
+    void storiesUnpublishedAfterTheirRowWasReadStayOff() {
+        duringTagRead = () -> leaderboard.onStoryChanged(unpublished(STORIES));
+        leaderboard.rebuild();
+
+        assertThat(ids(leaderboard.top(StorySort.LIKES, null, 2))).containsExactly(STORIES - 1L, STORIES - 2L);
+    }
+
+    @Test
+    void likesDuringARebuildAreCountedOnce() {
+        leaderboard.rebuild();
+        duringSecondRead = () -> leaderboard.onStoryStatsChanged(StoryStatsChangedEvent.likes(1L, 5000));
+        leaderboard.rebuild();
+
+        StorySummaryDTO top = leaderboard.top(StorySort.LIKES, null, 1).get(0);
+        assertThat(top.getId()).isEqualTo(1L);
+        assertThat(top.getLikes()).isEqualTo(5001);
+    }
+
+    @Test
+    void rankingsKeepOnlyTheirTopEntries() {
+        leaderboard.rebuild();
+
+        List<StorySummaryDTO> top = leaderboard.top(StorySort.LIKES, null, 500);
+        assertThat(top).hasSize(100);
+        assertThat(top.get(0).getId()).isEqualTo(STORIES);
+        assertThat(top.get(99).getId()).isEqualTo(STORIES - 99L);
+    }
+
+    @Test
+    void unrankedStoriesThatGainLikesAreLookedUp() {
+        leaderboard.rebuild();
+        when(storyRepository.findPublishedRankingsByIds(anyCollection())).thenReturn(
+                List.<Object[]>of(new Object[] {500L, 0, 1500, CREATED, 0}));
+
+        leaderboard.onStoryStatsChanged(StoryStatsChangedEvent.likes(500L, 1000));
+        assertThat(ids(leaderboard.top(StorySort.LIKES, null, 1))).containsExactly((long) STORIES);
+        leaderboard.refreshCandidates();
+
+        StorySummaryDTO top = leaderboard.top(StorySort.LIKES, null, 1).get(0);
+        assertThat(top.getId()).isEqualTo(500L);
+        assertThat(top.getLikes()).isEqualTo(1500);
+    }
+
+    @Test
+    void membersThatFallToTheEndLeaveTheRanking() {
+        leaderboard.rebuild();
+        long last = STORIES - 99L;
+
+        // An unranked story may now have as many likes, so the ranking can not vouch for its last place
+        leaderboard.onStoryStatsChanged(StoryStatsChangedEvent.likes(last, -1));
+
+        assertThat(ids(leaderboard.top(StorySort.LIKES, null, 500))).hasSize(99).doesNotContain(last);
+    }
+
+    private static List<Long> ids(List<StorySummaryDTO> stories) {
+        return stories.stream().map(StorySummaryDTO::getId).toList();
+    }
+
+    private static StoryChangedEvent unpublished(long id) {
+        return new StoryChangedEvent(StoryChangedEvent.Type.UNPUBLISHED, id, "Story " + id, "", "", Set.of(), false,
+                0, (int) id, 0, CREATED);
+    }
+
+    private static StorySummaryDTO summary(long id) {
+        return new StorySummaryDTO(id, "Story " + id, "", "", 1L, "author", "Author", true, 0, 0, 0, CREATED,
+                CREATED);
+    }
+}
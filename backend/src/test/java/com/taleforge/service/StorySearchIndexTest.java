@@ -0,0 +1,174 @@
+package com.taleforge.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.taleforge.event.StoryChangedEvent;
+import com.taleforge.repository.StoryRepository;
+
+class StorySearchIndexTest {
+    private final StoryRepository storyRepository = mock(StoryRepository.class);
+    private final List<StorySearchIndex> opened = new ArrayList<>();
+
+    @TempDir
+    Path directory;
+
+    @BeforeEach
+    void setUp() {
+        List<Object[]> published = new ArrayList<>();
+        published.add(row(1, "The dragon's hoard", "A hoard under the mountain", "Gold and scales."));
+        published.add(row(2, "Harbour lights", "A lighthouse keeper's winter", "The lamp burned all night."));
+        when(storyRepository.findPublishedForIndexing(eq(0L), any())).thenReturn(published);
+        when(storyRepository.findTagsByStoryIds(anyCollection())).thenReturn(List.of());
+        when(storyRepository.countByPublishedTrue()).thenReturn(2L);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        for (StorySearchIndex index : opened) {
+            index.close();
+        }
+    }
+
+    @Test
+    void aCurrentIndexOnDiskIsOnlyCaughtUp() throws IOException {
+        StorySearchIndex first = open(directory.toString());
+        first.rebuildOnStartup();
+        first.close();
+        opened.remove(first);
+
+        // Story 2 was unpublished while the application was down
+        List<Object[]> updated = new ArrayList<>();
+        updated.add(new Object[] { 2L, "Harbour lights", "A lighthouse keeper's winter", "", false });
+        when(storyRepository.findUpdatedForIndexing(any(LocalDateTime.class), eq(0L), any())).thenReturn(updated);
+        when(storyRepository.countByPublishedTrue()).thenReturn(1L);
+
+        StorySearchIndex reopened = open(directory.toString());
+        reopened.rebuildOnStartup();
+
+        verify(storyRepository).findPublishedForIndexing(eq(0L), any());
+        assertThat(ids(reopened, "dragon")).containsExactly(1L);
+        assertThat(ids(reopened, "lighthouse")).isEmpty();
+    }
+
+    @Test
+    void anIndexThatDisagreesWithTheDatabaseIsRebuilt() throws IOException {
+        StorySearchIndex first = open(directory.toString());
+        first.rebuildOnStartup();
+        first.close();
+        opened.remove(first);
+
+        when(storyRepository.findUpdatedForIndexing(any(LocalDateTime.class), anyLong(), any()))
+                .thenReturn(List.of());
+        List<Object[]> published = new ArrayList<>();
+        published.add(row(1, "The dragon's hoard", "A hoard under the mountain", "Gold and scales."));
+        published.add(row(2, "Harbour lights", "A lighthouse keeper's winter", "The lamp burned all night."));
+        // Imported without an event while the application was down
+        published.add(row(3, "Dragon weather", "Storms over the pass", "Wings in the thunder."));
+        when(storyRepository.findPublishedForIndexing(eq(0L), any())).thenReturn(published);
+        when(storyRepository.countByPublishedTrue()).thenReturn(3L);
+
+        StorySearchIndex reopened = open(directory.toString());
+        reopened.rebuildOnStartup();
+
+        assertThat(ids(reopened, "dragon")).containsExactlyInAnyOrder(1L, 3L);
+    }
+
+    @Test
+    void anIndexInMemoryIsBuiltAtStartup() throws IOException {
+        StorySearchIndex index = open("");
+        index.rebuildOnStartup();
+
+        verify(storyRepository, never()).findUpdatedForIndexing(any(), anyLong(), any());
+        assertThat(ids(index, "lighthouse")).containsExactly(2L);
+    }
+
+    @Test
+    void pluralsAndInflectionsMatchTheirStem() throws IOException {
+        StorySearchIndex index = open("");
+        index.onStoryChanged(changed(10, "Riding dragons", "Two riders", "They flew south.", Set.of()));
+
+        assertThat(ids(index, "dragon")).containsExactly(10L);
+        assertThat(ids(index, "ride")).containsExactly(10L);
+    }
+
+    @Test
+    void titleMatchesRankAboveContentMatches() throws IOException {
+        StorySearchIndex index = open("");
+        index.onStoryChanged(changed(10, "The long winter", "A village", "A lantern in the window.", Set.of()));
+        index.onStoryChanged(changed(11, "The lantern", "A village", "A long winter.", Set.of()));
+
+        assertThat(ids(index, "lantern")).containsExactly(11L, 10L);
+    }
+
+    @Test
+    void theTagFilterKeepsOnlyTaggedStories() throws IOException {
+        StorySearchIndex index = open("");
+        index.onStoryChanged(changed(10, "Ghost ship", "Fog", "A crew of ghosts.", Set.of("horror")));
+        index.onStoryChanged(changed(11, "Ghost town", "Dust", "A ghost sheriff.", Set.of("western")));
+
+        List<Long> horror = index.search("ghost", "horror", 0, 10).hits().stream()
+                .map(StorySearchIndex.Hit::storyId).toList();
+        assertThat(horror).containsExactly(10L);
+        assertThat(ids(index, "ghost")).containsExactlyInAnyOrder(10L, 11L);
+    }
+
+    @Test
+    void matchesAreMarkedInTheHighlight() throws IOException {
+        StorySearchIndex index = open("");
+        index.onStoryChanged(changed(10, "Night market", "Stalls", "The <b>merchant</b> sold clocks.", Set.of()));
+
+        String highlight = index.search("clocks", null, 0, 10).hits().get(0).highlight();
+        assertThat(highlight).contains("<mark>clocks</mark>").contains("&lt;b&gt;merchant&lt;&#x2F;b&gt;");
+    }
+
+    @Test
+    void theDescriptionFallbackIsEscaped() throws IOException {
+        StorySearchIndex index = open("");
+        index.onStoryChanged(changed(10, "Untitled", "<script>alert(1)</script>", "Nothing here.", Set.of("noir")));
+
+        // Only the unstored tags field matches, so no fragment can be highlighted
+        String highlight = index.search("noir", null, 0, 10).hits().get(0).highlight();
+        assertThat(highlight).isEqualTo("&lt;script&gt;alert(1)&lt;&#x2F;script&gt;");
+    }
+
+    private StorySearchIndex open(String path) throws IOException {
+        StorySearchIndex index = new StorySearchIndex(storyRepository, path, false);
+        index.open();
+        opened.add(index);
+        return index;
+    }
+
+    private static List<Long> ids(StorySearchIndex index, String query) {
+        return index.search(query, null, 0, 10).hits().stream().map(StorySearchIndex.Hit::storyId).toList();
+    }
+
+    private static StoryChangedEvent changed(long id, String title, String description, String content,
+            Set<String> tags) {
+        return new StoryChangedEvent(StoryChangedEvent.Type.PUBLISHED, id, title, description, content, tags, true,
+                0, 0, 0, LocalDateTime.of(2026, 1, 1, 0, 0));
+    }
+
+    private static Object[] row(long id, String title, String description, String content) {
+        return new Object[] { id, title, description, content, LocalDateTime.of(2026, 1, 1, 0, 0) };
+    }
+}
@@ -0,0 +1,66 @@
+package com.taleforge.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.roaringbitmap.RoaringBitmap;
+
+import com.taleforge.exception.BadRequestException;
+
+class TagExpressionTest {
+    private static final RoaringBitmap UNIVERSE = RoaringBitmap.bitmapOf(1, 2, 3, 4, 5, 6);
+    private static final Map<String, RoaringBitmap> POSTINGS = Map.of(
+            "fantasy", RoaringBitmap.bitmapOf(1, 2, 3),
+            "mystery", RoaringBitmap.bitmapOf(2, 3, 4),
+            "horror", RoaringBitmap.bitmapOf(3, 5));
+
+    @Test
+    void notBindsTighterThanAndWhichBindsTighterThanOr() {
+        assertThat(ids("fantasy OR mystery AND horror")).containsExactly(1, 2, 3);
+        assertThat(ids("(fantasy OR mystery) AND horror")).containsExactly(3);
+        assertThat(ids("NOT fantasy AND mystery")).containsExactly(4);
+        assertThat(ids("NOT (fantasy OR horror)")).containsExactly(4, 6);
+    }
+
+    @Test
+    void adjacentTermsAreAnded() {
+        assertThat(ids("fantasy mystery")).containsExactly(2, 3);
+        assertThat(ids("fantasy mystery NOT horror")).containsExactly(2);
+        assertThat(ids("fantasy NOT horror OR horror mystery")).containsExactly(1, 2, 3);
+    }
+
+    @Test
+    void unknownTagsMatchNothing() {
+        assertThat(ids("fantasy romance")).isEmpty();
+        assertThat(ids("NOT romance")).containsExactly(1, 2, 3, 4, 5, 6);
+    }
+
+    @Test
+    void malformedQueriesAreRejected() {
+        assertRejected("", "required");
+        assertRejected("fantasy AND", "Incomplete");
+        assertRejected("(fantasy OR mystery", "Missing ')'");
+        assertRejected("fantasy )", "Unexpected ')'");
+        assertRejected("OR fantasy", "Unexpected 'OR'");
+        assertRejected("a b c d e f g h i j k l m n o p q r s t u v w x y z aa bb cc dd ee ff gg", "at most 32");
+    }
+
+    @Test
+    void deepNestingIsRejectedBeforeTheStackRunsOut() {
+        assertRejected("NOT ".repeat(100_000) + "fantasy", "nest at most");
+        assertRejected("(".repeat(100_000) + "fantasy" + ")".repeat(100_000), "nest at most");
+        assertThat(ids("(".repeat(16) + "fantasy" + ")".repeat(16))).containsExactly(1, 2, 3);
+    }
+
+    private static int[] ids(String query) {
+        return TagExpression.evaluate(query, tag -> POSTINGS.getOrDefault(tag, new RoaringBitmap()), UNIVERSE)
+                .toArray();
+    }
+
+    private static void assertRejected(String query, String message) {
+        assertThatThrownBy(() -> ids(query)).isInstanceOf(BadRequestException.class).hasMessageContaining(message);
+    }
+}
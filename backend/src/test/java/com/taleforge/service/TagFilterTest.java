@@ -0,0 +1,140 @@
+package com.taleforge.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.Test;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.taleforge.dto.StorySummaryDTO;
+import com.taleforge.exception.BadRequestException;
+import com.taleforge.querycount.QueryCountTestConfig;
+import com.taleforge.repository.StoryRepository;
+import com.taleforge.repository.StorySort;
+import com.taleforge.repository.UserRepository;
+
+/**
+ * Tag queries against the seeded catalogue, checked against the same
+ * question asked in SQL. The seed is too small for a match set to be walked
+ * rather than sorted, so that path runs against a mocked catalogue.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(QueryCountTestConfig.class)
+class TagFilterTest {
+    private static final String HAS_TAG = "EXISTS (SELECT 1 FROM story_tags t WHERE t.story_id = s.id AND t.tag = '%s')";
+
+    @Autowired
+    private StoryService storyService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void matchesTheStoriesSqlFinds() {
+        Page<StorySummaryDTO> page = storyService.filterByTags("fantasy AND NOT horror", "newest", 0, 20);
+
+        assertThat(page.getTotalElements()).isEqualTo(count(
+                has("fantasy") + " AND NOT " + has("horror")));
+        assertThat(page.getContent()).hasSize(20).allSatisfy(story -> {
+            assertThat(story.getTags()).contains("fantasy").doesNotContain("horror");
+            assertThat(story.isPublished()).isTrue();
+        });
+        assertThat(page.getContent()).isSortedAccordingTo(
+                Comparator.comparing(StorySummaryDTO::getCreatedAt).reversed());
+    }
+
+    @Test
+    void orBindsLooserThanImpliedAnd() {
+        Page<StorySummaryDTO> page = storyService.filterByTags("noir western OR gothic", "popular", 0, 50);
+
+        assertThat(page.getTotalElements()).isEqualTo(count(
+                "(" + has("noir") + " AND " + has("western") + ") OR " + has("gothic")));
+        assertThat(page.getContent()).isSortedAccordingTo(Comparator.comparingInt(StorySummaryDTO::getViews).reversed());
+        assertThat(page.getContent()).allSatisfy(story -> assertThat(
+                story.getTags().containsAll(List.of("noir", "western")) || story.getTags().contains("gothic")).isTrue());
+    }
+
+    @Test
+    void pagesDoNotOverlap() {
+        List<Long> first = ids(storyService.filterByTags("mystery", "likes", 0, 10));
+        List<Long> second = ids(storyService.filterByTags("mystery", "likes", 1, 10));
+        assertThat(first).hasSize(10).doesNotContainAnyElementsOf(second);
+    }
+
+    @Test
+    void pagesPastTheLastOffsetAreRejected() {
+        assertThatThrownBy(() -> storyService.filterByTags("mystery", "newest", Integer.MAX_VALUE, 10))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> storyService.searchStories("dragon", null, Integer.MAX_VALUE / 10, 10))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void broadMatchesAreCollectedInSortOrder() {
+        StoryRepository stories = mock(StoryRepository.class);
+        TagBitmapIndex tags = mock(TagBitmapIndex.class);
+        StoryService service = new StoryService(stories, mock(UserRepository.class), mock(StorySearchIndex.class),
+                mock(StoryLeaderboard.class), mock(TagStatsService.class), tags, mock(ApplicationEventPublisher.class));
+
+        // Every even story of 10000 matches; the newest have the highest ids
+        RoaringBitmap matches = new RoaringBitmap();
+        LongStream.rangeClosed(1, 5000).forEach(i -> matches.add((int) (2 * i)));
+        when(tags.query("common")).thenReturn(matches);
+        when(tags.publishedCount()).thenReturn(10000L);
+        when(stories.findPublishedIds(any())).thenAnswer(call -> {
+            Pageable pageable = call.getArgument(0);
+            long first = 10000 - pageable.getOffset();
+            return LongStream.range(0, pageable.getPageSize()).map(i -> first - i).boxed().toList();
+        });
+        when(stories.findPublishedSummariesByIds(anyCollection())).thenAnswer(
+                call -> call.<Collection<Long>>getArgument(0).stream().sorted().map(TagFilterTest::summary).toList());
+
+        Page<StorySummaryDTO> page = service.filterByTags("common", "newest", 2, 10);
+
+        assertThat(page.getTotalElements()).isEqualTo(5000);
+        assertThat(ids(page)).containsExactly(9960L, 9958L, 9956L, 9954L, 9952L, 9950L, 9948L, 9946L, 9944L, 9942L);
+        // 30 matches at one in two is a walk of 60 ids, read with room to spare in one query
+        verify(stories).findPublishedIds(PageRequest.of(0, 120, StorySort.NEWEST.toSort()));
+    }
+
+    private long count(String condition) {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM stories s WHERE s.published = TRUE AND (" + condition + ")", Long.class);
+    }
+
+    private static String has(String tag) {
+        return HAS_TAG.formatted(tag);
+    }
+
+    private static StorySummaryDTO summary(long id) {
+        LocalDateTime created = LocalDateTime.of(2026, 1, 1, 0, 0);
+        return new StorySummaryDTO(id, "Story " + id, "", "", 1L, "author", "Author", true, 0, 0, 0, created, created);
+    }
+
+    private static List<Long> ids(Page<StorySummaryDTO> page) {
+        return page.getContent().stream().map(StorySummaryDTO::getId).toList();
+    }
+}
@@ -0,0 +1,105 @@
+package com.taleforge.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.TransactionSystemException;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import com.taleforge.event.StoryChangedEvent;
+import com.taleforge.event.StoryStatsChangedEvent;
+import com.taleforge.querycount.QueryCountTestConfig;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(QueryCountTestConfig.class)
+class TrendingServiceTest {
+    private static final long STORY = 1501;
+
+    @Autowired
+    private TrendingService trendingService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void engagementMovesAStoryUpAndARebuildPutsItBack() {
+        trendingService.rebuild();
+        List<Long> ranked = topTrending();
+        assertThat(ranked).doesNotContain(STORY);
+        assertThat(scores(ranked)).isSortedAccordingTo((a, b) -> Double.compare(b, a));
+
+        // The event alone, without the counters in the row, so the rebuild has something to correct
+        trendingService.onStoryStatsChanged(StoryStatsChangedEvent.likes(STORY, 100_000_000));
+        trendingService.flush();
+        assertThat(topTrending().get(0)).isEqualTo(STORY);
+
+        trendingService.rebuild();
+        assertThat(topTrending()).isEqualTo(ranked);
+    }
+
+    @Test
+    void aFailedFlushKeepsTheScoresAndDeltasForTheNextOne() {
+        JdbcTemplate jdbc = mock(JdbcTemplate.class);
+        PlatformTransactionManager transactions = mock(PlatformTransactionManager.class);
+        when(transactions.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        TrendingService trending = new TrendingService(jdbc, transactions, mock(ContentVersions.class),
+                1.0, 4.0, 8.0, 1.5, 0.01);
+        trending.onStoryChanged(new StoryChangedEvent(StoryChangedEvent.Type.PUBLISHED, 7L, "Story 7", "", "",
+                Set.of(), true, 10, 0, 0, LocalDateTime.now()));
+        trending.flush();
+        trending.onStoryChanged(new StoryChangedEvent(StoryChangedEvent.Type.PUBLISHED, 8L, "Story 8", "", "",
+                Set.of(), true, 0, 0, 0, LocalDateTime.now()));
+        trending.onStoryStatsChanged(StoryStatsChangedEvent.views(7L, 5));
+        reset(jdbc);
+
+        doThrow(new TransactionSystemException("commit failed"))
+                .when(transactions).commit(any(TransactionStatus.class));
+        assertThatThrownBy(trending::flush).isInstanceOf(TransactionSystemException.class);
+        reset(transactions, jdbc);
+        when(transactions.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        trending.flush();
+
+        ArgumentCaptor<List<Object[]>> scores = ArgumentCaptor.captor();
+        ArgumentCaptor<List<Object[]>> deltas = ArgumentCaptor.captor();
+        verify(jdbc).batchUpdate(eq("UPDATE stories SET trending_score = ? WHERE id = ?"), scores.capture());
+        verify(jdbc).batchUpdate(eq("UPDATE stories SET trending_score = trending_score + ? WHERE id = ?"),
+                deltas.capture());
+        assertThat(scores.getValue()).extracting(row -> row[1]).containsExactly(8L);
+        assertThat(deltas.getValue()).extracting(row -> row[1]).containsExactly(7L);
+    }
+
+    private List<Long> topTrending() {
+        return jdbcTemplate.queryForList("SELECT id FROM stories WHERE published = TRUE "
+                + "ORDER BY trending_score DESC, id DESC LIMIT 10", Long.class);
+    }
+
+    private List<Double> scores(List<Long> ids) {
+        return ids.stream()
+                .map(id -> jdbcTemplate.queryForObject("SELECT trending_score FROM stories WHERE id = ?",
+                        Double.class, id))
+                .toList();
+    }
+}
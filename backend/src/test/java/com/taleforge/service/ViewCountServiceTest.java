@@ -0,0 +1,110 @@
+package com.taleforge.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.TransactionSystemException;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import com.taleforge.exception.ServiceUnavailableException;
+
+class ViewCountServiceTest {
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final ViewCountService views = new ViewCountService(jdbcTemplate, transactionManager,
+            mock(ApplicationEventPublisher.class), 60000, 2);
+
+    @BeforeEach
+    void setUp() {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+    }
+
+    @Test
+    void aFullMapFlushesBeforeTakingAnotherStory() {
+        views.recordView(7L);
+        views.recordView(8L);
+        views.recordView(8L);
+        assertThat(views.getPendingStories()).isEqualTo(2);
+
+        views.recordView(123_456L);
+        assertThat(views.getFlushedViews()).isEqualTo(3);
+        assertThat(views.getPendingStories()).isEqualTo(1);
+        assertThat(views.getPendingViews()).isEqualTo(1);
+    }
+
+    @Test
+    void aFullMapRejectsNewStoriesWhileFlushesFail() {
+        views.recordView(7L);
+        views.recordView(8L);
+        doThrow(new TransactionSystemException("commit failed"))
+                .when(transactionManager).commit(any(TransactionStatus.class));
+
+        assertThatThrownBy(() -> views.recordView(9L)).isInstanceOf(ServiceUnavailableException.class);
+        views.recordView(7L);
+        assertThat(views.getPendingViews()).isEqualTo(3);
+    }
+
+    @Test
+    void flushedViewsAreAddedToTheStoredCounts() {
+        EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .setName("view-flush")
+                .build();
+        try {
+            JdbcTemplate stories = new JdbcTemplate(database);
+            stories.execute("CREATE TABLE stories (id BIGINT PRIMARY KEY, views INT NOT NULL)");
+            stories.update("INSERT INTO stories VALUES (7, 10), (8, 0)");
+            ViewCountService persisted = new ViewCountService(stories, new DataSourceTransactionManager(database),
+                    mock(ApplicationEventPublisher.class), 60000, 100);
+
+            persisted.recordView(7L);
+            persisted.recordView(7L);
+            persisted.recordView(8L);
+            persisted.flush();
+            persisted.recordView(7L);
+            persisted.flush();
+
+            assertThat(stories.queryForList("SELECT views FROM stories ORDER BY id", Integer.class))
+                    .containsExactly(13, 1);
+            assertThat(persisted.getPendingViews()).isZero();
+        } finally {
+            database.shutdown();
+        }
+    }
+
+    @Test
+    void aFailedCommitKeepsTheViewsForTheNextFlush() {
+        views.recordView(7L);
+        doThrow(new TransactionSystemException("commit failed"))
+                .when(transactionManager).commit(any(TransactionStatus.class));
+        assertThatThrownBy(views::flush).isInstanceOf(TransactionSystemException.class);
+        assertThat(views.getPendingViews()).isEqualTo(1);
+
+        reset(transactionManager);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        views.recordView(7L);
+        views.flush();
+        assertThat(views.getPendingViews()).isZero();
+        assertThat(views.getFlushedViews()).isEqualTo(2);
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), anyList());
+    }
+}
@@ -61,26 +61,14 @@ export default function HomePage() {
     try {
       setLoading(true);
       setError("");
-      const storiesRes = await api.get("/stories?size=100"); // Get more stories to filter
-      // Filter published stories and sort by views
-      const publishedStories = storiesRes.data.content
-        .filter((story: Story) => story.published)
-        .sort((a: Story, b: Story) => b.views - a.views)
-        .slice(0, 6); // Take top 6 most viewed stories
+      // Top 6 most viewed published stories
+      const storiesRes = await api.get("/stories/top?sortBy=views&limit=6");
+      const publishedStories: Story[] = storiesRes.data;
       setStories(publishedStories);
 
-      // Collect tags from filtered stories
-      const tagCounts: Record<string, number> = {};
-      publishedStories.forEach((story: Story) => {
-        story.tags.forEach((tag: string) => {
-          tagCounts[tag] = (tagCounts[tag] || 0) + 1;
-        });
-      });
-      const sortedTags: TagCount[] = Object.entries(tagCounts)
-        .map(([tag, count]) => ({ tag, count }))
-        .sort((a, b) => b.count - a.count)
-        .slice(0, 6);
-      setTags(sortedTags);
+      // Most used tags across all published stories
+      const tagsRes = await api.get("/stories/tags?limit=6");
+      setTags(tagsRes.data as TagCount[]);
     } catch (err) {
       setError("Failed to load stories or tags");
     } finally {
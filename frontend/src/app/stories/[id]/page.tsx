@@ -20,6 +20,7 @@ interface Story {
   published: boolean;
   views: number;
   likes: number;
+  chapterCount: number;
   tags: string[];
   createdAt: string;
   updatedAt: string;
@@ -90,10 +91,10 @@ export default function StoryDetailPage() {
       if (!id || !story) return;
 
       try {
-        const viewResponse = await api.post(`/stories/${id}/view`);
+        await api.post(`/stories/${id}/view`);
         if (isMounted) {
           setStory((prev) =>
-            prev ? { ...prev, views: viewResponse.data.views } : null
+            prev ? { ...prev, views: prev.views + 1 } : null
           );
         }
       } catch (viewErr) {
@@ -591,6 +592,15 @@ export default function StoryDetailPage() {
             className="prose prose-sm sm:prose-base max-w-none break-words mb-8 cursor-pointer"
             dangerouslySetInnerHTML={{ __html: story.content }}
           />
+          {story.chapterCount > 0 && (
+            <Link
+              href={`/stories/${story.id}/chapters/1`}
+              className="inline-flex items-center mb-8 px-4 py-2 rounded bg-indigo-600 text-white text-sm font-semibold hover:bg-indigo-700 transition"
+            >
+              Start reading · {story.chapterCount}{" "}
+              {story.chapterCount === 1 ? "chapter" : "chapters"}
+            </Link>
+          )}
           <div className="flex justify-between items-center text-xs sm:text-sm text-gray-500 pt-4 border-t border-gray-100">
             <div className="flex-1 min-w-0">
               <span className="truncate block cursor-pointer">
@@ -16,12 +16,27 @@ interface Comment {
   liked: boolean;
 }
 
+interface CommentPage {
+  items: Comment[];
+  nextCursor: string | null;
+  hasMore: boolean;
+  total: number;
+}
+
+type CommentSort = "newest" | "oldest" | "top";
+
+const PAGE_SIZE = 20;
+
 interface CommentsProps {
   storyId: number;
 }
 
 export default function Comments({ storyId }: CommentsProps) {
   const [comments, setComments] = useState<Comment[]>([]);
+  const [total, setTotal] = useState(0);
+  const [sort, setSort] = useState<CommentSort>("newest");
+  const [nextCursor, setNextCursor] = useState<string | null>(null);
+  const [loadingMore, setLoadingMore] = useState(false);
   const [newComment, setNewComment] = useState("");
   const [loading, setLoading] = useState(true);
   const [error, setError] = useState("");
@@ -33,16 +48,25 @@ export default function Comments({ storyId }: CommentsProps) {
 
   useEffect(() => {
     fetchComments();
-  }, [storyId]);
+  }, [storyId, sort]);
+
+  const fetchPage = async (cursor: string | null) => {
+    const response = await api.get<CommentPage>(`/comments/story/${storyId}`, {
+      params: { sort, size: PAGE_SIZE, ...(cursor ? { cursor } : {}) },
+    });
+    setTotal(response.data.total);
+    setNextCursor(response.data.hasMore ? response.data.nextCursor : null);
+    return response.data.items;
+  };
 
   const fetchComments = async () => {
     try {
       setLoading(true);
       setError("");
       console.log("Fetching comments for story:", storyId);
-      const response = await api.get(`/comments/story/${storyId}`);
-      console.log("Comments fetched:", response.data);
-      setComments(response.data);
+      const items = await fetchPage(null);
+      console.log("Comments fetched:", items);
+      setComments(items);
     } catch (err: any) {
       console.error("Error fetching comments:", err);
       setError(err.response?.data?.message || "Failed to fetch comments");
@@ -51,6 +75,26 @@ export default function Comments({ storyId }: CommentsProps) {
     }
   };
 
+  const loadMore = async () => {
+    if (!nextCursor) return;
+
+    try {
+      setLoadingMore(true);
+      setError("");
+      const items = await fetchPage(nextCursor);
+      // A comment posted meanwhile can shift the thread, so skip ones already shown
+      setComments((current) => [
+        ...current,
+        ...items.filter((item) => !current.some((c) => c.id === item.id)),
+      ]);
+    } catch (err: any) {
+      console.error("Error fetching more comments:", err);
+      setError(err.response?.data?.message || "Failed to fetch comments");
+    } finally {
+      setLoadingMore(false);
+    }
+  };
+
   const handleSubmit = async (e: React.FormEvent) => {
     e.preventDefault();
     if (editingCommentId) {
@@ -78,6 +122,7 @@ export default function Comments({ storyId }: CommentsProps) {
         },
       };
       setComments([newCommentData, ...comments]);
+      setTotal(total + 1);
       setNewComment("");
     } catch (err: any) {
       console.error("Error submitting comment:", err);
@@ -124,6 +169,7 @@ export default function Comments({ storyId }: CommentsProps) {
       await api.delete(`/comments/${commentId}`);
       console.log("Comment deleted successfully");
       setComments(comments.filter((comment) => comment.id !== commentId));
+      setTotal(Math.max(total - 1, 0));
     } catch (err: any) {
       console.error("Error deleting comment:", err);
       setError(err.response?.data?.message || "Failed to delete comment");
@@ -209,7 +255,19 @@ export default function Comments({ storyId }: CommentsProps) {
 
   return (
     <div className="mt-8">
-      <h2 className="text-2xl font-bold mb-4">Comments</h2>
+      <div className="flex items-center justify-between mb-4">
+        <h2 className="text-2xl font-bold">Comments ({total})</h2>
+        <select
+          value={sort}
+          onChange={(e) => setSort(e.target.value as CommentSort)}
+          className="rounded border border-gray-300 px-2 py-1 text-sm bg-white focus:ring-2 focus:ring-indigo-400"
+          aria-label="Sort comments"
+        >
+          <option value="newest">Newest</option>
+          <option value="oldest">Oldest</option>
+          <option value="top">Most liked</option>
+        </select>
+      </div>
 
       {error && (
         <div className="bg-red-50 border border-red-200 text-red-600 px-4 py-3 rounded relative mb-4">
@@ -390,6 +448,19 @@ export default function Comments({ storyId }: CommentsProps) {
         {comments.length === 0 && (
           <p className="text-gray-500 text-center py-4">No comments yet.</p>
         )}
+
+        {nextCursor && (
+          <div className="flex justify-center">
+            <button
+              onClick={loadMore}
+              disabled={loadingMore}
+              className="px-4 py-2 rounded bg-gray-100 text-gray-700 font-medium hover:bg-gray-200 transition text-sm cursor-pointer disabled:opacity-50"
+              aria-label="Load more comments"
+            >
+              {loadingMore ? "Loading..." : "Load more comments"}
+            </button>
+          </div>
+        )}
       </div>
     </div>
   );